@@ -13,6 +13,7 @@ public class AndroidLauncher extends AndroidApplication {
         super.onCreate(savedInstanceState);
         AndroidApplicationConfiguration configuration = new AndroidApplicationConfiguration();
         configuration.useImmersiveMode = true; // Recommended, but not required.
+        configuration.useGL30 = true; // ES 3.0 where available, enables instanced rendering of bullets
         initialize(new AgentSlug(), configuration);
     }
 }
\ No newline at end of file
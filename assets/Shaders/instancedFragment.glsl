@@ -0,0 +1,14 @@
+#ifdef GL_ES
+precision mediump float;
+#endif
+
+varying vec4 v_color;
+varying vec2 v_texCoords;
+varying float v_flash;
+uniform sampler2D u_texture;
+
+void main() {
+    vec4 color = texture2D(u_texture, v_texCoords) * v_color;
+    color.rgb = mix(color.rgb, vec3(1.0, 0.0, 0.0), v_flash);
+    gl_FragColor = color;
+}
@@ -0,0 +1,20 @@
+attribute vec2 a_position; // Corner of the unit quad
+attribute vec4 a_bounds; // Per instance: x, y, width, height
+attribute vec4 a_region; // Per instance: u, v, u2, v2
+attribute vec4 a_color; // Per instance tint
+
+uniform mat4 u_projTrans;
+
+varying vec4 v_color;
+varying vec2 v_texCoords;
+varying float v_flash;
+
+void main() {
+    // The lowest bit of the alpha byte marks a hit flash, see HitFlash
+    float alphaByte = floor(a_color.a * 255.0 + 0.5);
+    float flashBit = mod(alphaByte, 2.0);
+    v_flash = flashBit * FLASH_AMOUNT;
+    v_color = vec4(a_color.rgb, (alphaByte + flashBit) / 255.0);
+    v_texCoords = vec2(mix(a_region.x, a_region.z, a_position.x), mix(a_region.w, a_region.y, a_position.y));
+    gl_Position = u_projTrans * vec4(a_bounds.xy + a_position * a_bounds.zw, 0.0, 1.0);
+}
@@ -6,9 +6,14 @@ uniform mat4 u_projTrans;
 
 varying vec4 v_color;
 varying vec2 v_texCoords;
+varying float v_flash;
 
 void main() {
-    v_color = a_color;
+    // The lowest bit of the alpha byte marks a hit flash, see HitFlash
+    float alphaByte = floor(a_color.a * 255.0 + 0.5);
+    float flashBit = mod(alphaByte, 2.0);
+    v_flash = flashBit * FLASH_AMOUNT;
+    v_color = vec4(a_color.rgb, (alphaByte + flashBit) / 255.0);
     v_texCoords = a_texCoord0;
     gl_Position = u_projTrans * a_position;
 }
@@ -0,0 +1,60 @@
+package krazy.cat.games.Audio;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Loads every SFX file once and hands out the shared Sound.
+// Each acquire() has to be paired with a release(); the Sound is disposed once nobody references it anymore.
+public class SoundBank implements Disposable {
+    private static class Entry {
+        final Sound sound;
+        int references;
+
+        Entry(Sound sound) {
+            this.sound = sound;
+        }
+    }
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    public Sound acquire(String path) {
+        Entry entry = entries.get(path);
+        if (entry == null) {
+            entry = new Entry(Gdx.audio.newSound(Gdx.files.internal(path)));
+            entries.put(path, entry);
+        }
+        entry.references++;
+        return entry.sound;
+    }
+
+    public void release(String path) {
+        Entry entry = entries.get(path);
+        if (entry == null) {
+            Gdx.app.error("SoundBank", "Released a sound that was never acquired: " + path);
+            return;
+        }
+
+        entry.references--;
+        if (entry.references <= 0) {
+            entry.sound.dispose();
+            entries.remove(path);
+        }
+    }
+
+    public int getReferenceCount(String path) {
+        Entry entry = entries.get(path);
+        return entry != null ? entry.references : 0;
+    }
+
+    @Override
+    public void dispose() {
+        for (Entry entry : entries.values()) {
+            entry.sound.dispose();
+        }
+        entries.clear();
+    }
+}
@@ -0,0 +1,210 @@
+package krazy.cat.games.Audio;
+
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.MathUtils;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+// Sits between the game and the SoundBank and decides which triggered sounds actually get a voice.
+// - every sound only gets a few concurrent voices, a new trigger steals the oldest voice of lower or equal priority
+// - triggers of the same sound within a short window are merged into one
+// - positional sounds outside the camera view get quieter with distance and are dropped once inaudible
+// - positional sounds are panned by their horizontal screen position
+public class SoundMixer {
+    public static final int PRIORITY_LOW = 0;
+    public static final int PRIORITY_NORMAL = 1;
+    public static final int PRIORITY_HIGH = 2;
+
+    private static final int MAX_VOICES_PER_SOUND = 3;
+    private static final int MAX_TOTAL_VOICES = 16;
+    private static final float VOICE_DURATION = 0.6f; // Sound does not report when it finished, so voices are released after this time
+    private static final float DEDUPE_WINDOW = 0.05f;
+    private static final float ATTENUATION_RANGE = 1200f; // Distance outside of the view after which a sound is inaudible
+    private static final float MIN_AUDIBLE_VOLUME = 0.05f;
+    private static final float MAX_PAN = 0.8f;
+
+    private static class Channel {
+        final long[] ids = new long[MAX_VOICES_PER_SOUND];
+        final float[] ages = new float[MAX_VOICES_PER_SOUND];
+        final int[] priorities = new int[MAX_VOICES_PER_SOUND];
+        int voiceCount;
+        float timeSinceTrigger = Float.MAX_VALUE;
+
+        void removeVoice(int index) {
+            voiceCount--;
+            ids[index] = ids[voiceCount];
+            ages[index] = ages[voiceCount];
+            priorities[index] = priorities[voiceCount];
+        }
+
+        // Oldest voice the given priority is allowed to replace, -1 if there is none
+        int findStealableVoice(int priority) {
+            int candidate = -1;
+            for (int i = 0; i < voiceCount; i++) {
+                if (priorities[i] > priority) continue;
+                if (candidate == -1 || priorities[i] < priorities[candidate] || (priorities[i] == priorities[candidate] && ages[i] > ages[candidate])) {
+                    candidate = i;
+                }
+            }
+            return candidate;
+        }
+    }
+
+    private final SoundBank soundBank;
+    private final Map<Sound, Channel> channels = new HashMap<>();
+    private int totalVoices = 0;
+    private float masterVolume = 1f;
+
+    // Visible world area, positional sounds inside of it play at full volume
+    private float viewLeft, viewRight, viewBottom, viewTop;
+    private boolean hasView = false;
+
+    public SoundMixer(SoundBank soundBank) {
+        this.soundBank = soundBank;
+    }
+
+    public SoundBank getSoundBank() {
+        return soundBank;
+    }
+
+    public void setView(OrthographicCamera camera) {
+        float halfWidth = camera.viewportWidth * camera.zoom / 2;
+        float halfHeight = camera.viewportHeight * camera.zoom / 2;
+        viewLeft = camera.position.x - halfWidth;
+        viewRight = camera.position.x + halfWidth;
+        viewBottom = camera.position.y - halfHeight;
+        viewTop = camera.position.y + halfHeight;
+        hasView = true;
+    }
+
+    public void setMasterVolume(float masterVolume) {
+        this.masterVolume = MathUtils.clamp(masterVolume, 0f, 1f);
+    }
+
+    // Sounds without a world position (the player's own sounds)
+    public long play(Sound sound, int priority) {
+        return playVoice(sound, 1f, 0f, priority);
+    }
+
+    // Sounds emitted at a world position
+    public long play(Sound sound, float x, float y, int priority) {
+        if (!hasView) {
+            return playVoice(sound, 1f, 0f, priority);
+        }
+
+        float distanceX = Math.max(0, Math.max(viewLeft - x, x - viewRight));
+        float distanceY = Math.max(0, Math.max(viewBottom - y, y - viewTop));
+        float distance = (float) Math.sqrt(distanceX * distanceX + distanceY * distanceY);
+        float volume = 1f - distance / ATTENUATION_RANGE;
+
+        // Low priority sounds are only worth a voice while their source is on screen
+        if (volume < MIN_AUDIBLE_VOLUME || (priority == PRIORITY_LOW && distance > 0)) {
+            return -1;
+        }
+
+        float viewCenterX = (viewLeft + viewRight) / 2;
+        float pan = MathUtils.clamp((x - viewCenterX) / ((viewRight - viewLeft) / 2), -1f, 1f) * MAX_PAN;
+        return playVoice(sound, volume, pan, priority);
+    }
+
+    private long playVoice(Sound sound, float volume, float pan, int priority) {
+        Channel channel = channels.get(sound);
+        if (channel == null) {
+            channel = new Channel();
+            channels.put(sound, channel);
+        }
+
+        // Merge bursts (e.g. several bullets hitting in the same frame) into one voice
+        if (channel.timeSinceTrigger < DEDUPE_WINDOW) {
+            return -1;
+        }
+
+        if (channel.voiceCount == MAX_VOICES_PER_SOUND && !stealVoice(sound, channel, priority)) {
+            return -1;
+        }
+        if (totalVoices >= MAX_TOTAL_VOICES && !stealVoiceFromAnyChannel(priority)) {
+            return -1;
+        }
+
+        long id = sound.play(volume * masterVolume, 1f, pan);
+        channel.timeSinceTrigger = 0f;
+        if (id == -1) {
+            return -1; // The audio backend ran out of voices itself
+        }
+
+        int index = channel.voiceCount++;
+        channel.ids[index] = id;
+        channel.ages[index] = 0f;
+        channel.priorities[index] = priority;
+        totalVoices++;
+        return id;
+    }
+
+    private boolean stealVoice(Sound sound, Channel channel, int priority) {
+        int index = channel.findStealableVoice(priority);
+        if (index == -1) {
+            return false;
+        }
+        sound.stop(channel.ids[index]);
+        channel.removeVoice(index);
+        totalVoices--;
+        return true;
+    }
+
+    private boolean stealVoiceFromAnyChannel(int priority) {
+        Sound victimSound = null;
+        Channel victimChannel = null;
+        int victimIndex = -1;
+
+        for (Map.Entry<Sound, Channel> entry : channels.entrySet()) {
+            Channel channel = entry.getValue();
+            int index = channel.findStealableVoice(priority);
+            if (index == -1) continue;
+
+            if (victimChannel == null
+                || channel.priorities[index] < victimChannel.priorities[victimIndex]
+                || (channel.priorities[index] == victimChannel.priorities[victimIndex] && channel.ages[index] > victimChannel.ages[victimIndex])) {
+                victimSound = entry.getKey();
+                victimChannel = channel;
+                victimIndex = index;
+            }
+        }
+
+        if (victimChannel == null) {
+            return false;
+        }
+        return stealVoice(victimSound, victimChannel, victimChannel.priorities[victimIndex]);
+    }
+
+    // Ages the tracked voices and frees the ones that have finished playing; call once per rendered frame
+    public void update(float deltaTime) {
+        Iterator<Channel> channelIterator = channels.values().iterator();
+        while (channelIterator.hasNext()) {
+            Channel channel = channelIterator.next();
+            channel.timeSinceTrigger += deltaTime;
+            for (int i = channel.voiceCount - 1; i >= 0; i--) {
+                channel.ages[i] += deltaTime;
+                if (channel.ages[i] >= VOICE_DURATION) {
+                    channel.removeVoice(i);
+                    totalVoices--;
+                }
+            }
+
+            // Idle channels are dropped so sounds released from the SoundBank are not kept around
+            if (channel.voiceCount == 0 && channel.timeSinceTrigger >= DEDUPE_WINDOW) {
+                channelIterator.remove();
+            }
+        }
+    }
+
+    public void stopAll() {
+        for (Map.Entry<Sound, Channel> entry : channels.entrySet()) {
+            entry.getKey().stop();
+        }
+        channels.clear();
+        totalVoices = 0;
+    }
+}
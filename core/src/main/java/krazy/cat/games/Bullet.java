@@ -3,47 +3,87 @@ package krazy.cat.games;
 
 import static krazy.cat.games.GameLoop.SCALE;
 
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Pool;
 
-public class Bullet {
+public class Bullet implements Pool.Poolable {
     public static final int BULLET_WIDTH = 16;
     public static final int BULLET_HEIGHT = 12;
     private static final float BULLET_SPEED = 100;
 
-    private Vector2 position;
-    private Vector2 velocity;
+    private final Vector2 position = new Vector2();
+    private final Vector2 velocity = new Vector2();
+    private final Vector2 previousPosition = new Vector2();
+    private final Vector2 renderPosition = new Vector2();
+    private final Rectangle bounds = new Rectangle();
 
-    private TextureRegion[] bulletFrames;
+    private TextureRegion[] bulletFrames; // shared frame table owned by the BulletPool
     private float stateTime;
     private int currentFrameIndex;
-    Texture bulletTexture;
+    private boolean active;
 
-    public Bullet(Vector2 position, boolean facingRight) {
-        bulletTexture = new Texture("Pixel Bullet 16x16.png");
+    private float maxRange = Float.MAX_VALUE;
+    private float timeToLive = Float.MAX_VALUE;
+    private float distanceTravelled;
+    private float timeAlive;
 
-        this.position = position;
-        this.velocity = new Vector2(facingRight ? BULLET_SPEED : -BULLET_SPEED, 0);
-        this.stateTime = 0;
+    // Impact scheduling of the ProjectileManager, in simulation time
+    private float tileImpactTime = Float.MAX_VALUE;
+    private float nextContactCheck;
+    private boolean scheduled; // Waiting in the impact queue, left out of the contact checks until then
 
-        initializeTextures(facingRight);
+    // Bullets are created by the BulletPool and set up with init()
+    Bullet() {
+    }
+
+    void init(float x, float y, boolean facingRight, TextureRegion[] frames) {
+        position.set(x, y);
+        previousPosition.set(position);
+        bounds.set(x, y, BULLET_WIDTH, BULLET_HEIGHT);
+        velocity.set(facingRight ? BULLET_SPEED : -BULLET_SPEED, 0);
+        bulletFrames = frames;
+        stateTime = 0;
         currentFrameIndex = 0;
+        active = true;
+        maxRange = Float.MAX_VALUE;
+        timeToLive = Float.MAX_VALUE;
+        distanceTravelled = 0;
+        timeAlive = 0;
+        tileImpactTime = Float.MAX_VALUE;
+        nextContactCheck = 0;
+        scheduled = false;
     }
 
-    private void initializeTextures(boolean facingRight) {
-        bulletFrames = new TextureRegion[5];
-        for (int i = 0; i < 5; i++) {
-            bulletFrames[i] = new TextureRegion(bulletTexture, i * BULLET_WIDTH, 0, BULLET_WIDTH, BULLET_HEIGHT);
-            if (facingRight)
-                bulletFrames[i].flip(true, true); // Flip horizontally and vertically for 180-degree rotation
-        }
+    void setLifetime(float maxRange, float timeToLive) {
+        this.maxRange = maxRange;
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    public void reset() {
+        position.set(0, 0);
+        previousPosition.set(0, 0);
+        velocity.set(0, 0);
+        bulletFrames = null;
+        stateTime = 0;
+        currentFrameIndex = 0;
+        active = false;
+        maxRange = Float.MAX_VALUE;
+        timeToLive = Float.MAX_VALUE;
+        distanceTravelled = 0;
+        timeAlive = 0;
+        tileImpactTime = Float.MAX_VALUE;
+        nextContactCheck = 0;
+        scheduled = false;
     }
 
     public void update(float deltaTime) {
         position.add(velocity.x * deltaTime, velocity.y * deltaTime);
+        bounds.setPosition(position.x, position.y);
+        distanceTravelled += velocity.len() * deltaTime;
+        timeAlive += deltaTime;
         stateTime += deltaTime;
 
         if (stateTime >= 0.1f) { // Change frame every 0.1 second
@@ -56,16 +96,83 @@ public class Bullet {
         return position;
     }
 
+    // 1 = flying right, -1 = flying left
+    public float getDirectionX() {
+        return Math.signum(velocity.x);
+    }
+
+    public Vector2 getVelocity() {
+        return velocity;
+    }
+
+    public float getSpeed() {
+        return velocity.len();
+    }
+
+    float getMaxRange() {
+        return maxRange;
+    }
+
+    void setTileImpactTime(float tileImpactTime) {
+        this.tileImpactTime = tileImpactTime;
+    }
+
+    float getTileImpactTime() {
+        return tileImpactTime;
+    }
+
+    void setNextContactCheck(float nextContactCheck) {
+        this.nextContactCheck = nextContactCheck;
+    }
+
+    // Key of the impact queue, must not change while the bullet is scheduled
+    float getNextEventTime() {
+        return Math.min(tileImpactTime, nextContactCheck);
+    }
+
+    void setScheduled(boolean scheduled) {
+        this.scheduled = scheduled;
+    }
+
+    boolean isScheduled() {
+        return scheduled;
+    }
+
+    public boolean hasExpired() {
+        return distanceTravelled >= maxRange || timeAlive >= timeToLive;
+    }
+
+    public void savePreviousPosition() {
+        previousPosition.set(position);
+    }
+
+    // Inactive bullets have hit something and are handed back to the pool at the end of the tick
+    public boolean isActive() {
+        return active;
+    }
+
+    public void deactivate() {
+        active = false;
+    }
+
     public TextureRegion getCurrentFrame() {
         return bulletFrames[currentFrameIndex];
     }
 
+    // Cached bounds, moved together with the bullet, do not modify
     public Rectangle getBoundingRectangle() {
-        return new Rectangle(position.x, position.y, BULLET_WIDTH, BULLET_HEIGHT);
+        return bounds;
     }
 
-    public void render(Batch batch) {
-        batch.draw(getCurrentFrame(), getPosition().x, getPosition().y,
+    public void render(InstancedQuadRenderer instancedRenderer, float alpha) {
+        renderPosition.set(previousPosition).lerp(position, alpha);
+        instancedRenderer.draw(getCurrentFrame(), renderPosition.x, renderPosition.y,
             Bullet.BULLET_WIDTH * SCALE, Bullet.BULLET_HEIGHT * SCALE);
     }
+
+    public void render(RenderQueue renderQueue, float alpha) {
+        renderPosition.set(previousPosition).lerp(position, alpha);
+        renderQueue.submit(getCurrentFrame(), renderPosition.x, renderPosition.y,
+            Bullet.BULLET_WIDTH * SCALE, Bullet.BULLET_HEIGHT * SCALE, RenderQueue.LAYER_BULLETS, 0);
+    }
 }
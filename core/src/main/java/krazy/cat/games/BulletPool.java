@@ -0,0 +1,45 @@
+package krazy.cat.games;
+
+import static krazy.cat.games.Bullet.BULLET_HEIGHT;
+import static krazy.cat.games.Bullet.BULLET_WIDTH;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.Pool;
+
+// Recycles bullets and shares the bullet frames, which are split from the SpriteAtlas only once.
+public class BulletPool extends Pool<Bullet> implements Disposable {
+    private static final int FRAME_COUNT = 5;
+    private static final int INITIAL_CAPACITY = 32;
+    private static final int MAX_FREE = 256;
+
+    private final TextureRegion[] leftFrames = new TextureRegion[FRAME_COUNT];
+    private final TextureRegion[] rightFrames = new TextureRegion[FRAME_COUNT];
+
+    public BulletPool(SpriteAtlas spriteAtlas) {
+        super(INITIAL_CAPACITY, MAX_FREE);
+        TextureRegion bulletStrip = spriteAtlas.findRegion(SpriteAtlas.BULLET);
+
+        for (int i = 0; i < FRAME_COUNT; i++) {
+            leftFrames[i] = new TextureRegion(bulletStrip, i * BULLET_WIDTH, 0, BULLET_WIDTH, BULLET_HEIGHT);
+            rightFrames[i] = new TextureRegion(leftFrames[i]);
+            rightFrames[i].flip(true, true); // Flip horizontally and vertically for 180-degree rotation
+        }
+    }
+
+    @Override
+    protected Bullet newObject() {
+        return new Bullet();
+    }
+
+    public Bullet obtain(float x, float y, boolean facingRight) {
+        Bullet bullet = obtain();
+        bullet.init(x, y, facingRight, facingRight ? rightFrames : leftFrames);
+        return bullet;
+    }
+
+    @Override
+    public void dispose() {
+        clear(); // The bullet texture belongs to the SpriteAtlas
+    }
+}
@@ -0,0 +1,68 @@
+package krazy.cat.games.Characters.AnimationSets;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import krazy.cat.games.SpriteAtlas;
+
+// Flyweight cache: every animation set is built once per sprite sheet, the sheets themselves live in the SpriteAtlas.
+// The sets are never modified after construction, so all entities of a kind share the same instance and only keep
+// their own state (position, state time, facing) in their manager.
+public class AnimationRegistry implements Disposable {
+    private final SpriteAtlas spriteAtlas;
+    private final Map<String, AnimationSetZombie> zombieAnimationSets = new HashMap<>();
+    private final Map<String, AnimationSetBat> batAnimationSets = new HashMap<>();
+    private final Map<String, AnimationSetAgent> agentAnimationSets = new HashMap<>();
+    private TextureRegion[] hitEffectFrames;
+
+    public AnimationRegistry(SpriteAtlas spriteAtlas) {
+        this.spriteAtlas = spriteAtlas;
+    }
+
+    public AnimationSetZombie getZombieAnimations(String spriteSheetPath) {
+        AnimationSetZombie animationSet = zombieAnimationSets.get(spriteSheetPath);
+        if (animationSet == null) {
+            animationSet = new AnimationSetZombie(spriteAtlas.findRegion(spriteSheetPath));
+            zombieAnimationSets.put(spriteSheetPath, animationSet);
+        }
+        return animationSet;
+    }
+
+    public AnimationSetBat getBatAnimations(String spriteSheetPath) {
+        AnimationSetBat animationSet = batAnimationSets.get(spriteSheetPath);
+        if (animationSet == null) {
+            animationSet = new AnimationSetBat(spriteAtlas.findRegion(spriteSheetPath));
+            batAnimationSets.put(spriteSheetPath, animationSet);
+        }
+        return animationSet;
+    }
+
+    public AnimationSetAgent getAgentAnimations(String upperBodySpriteSheetPath, String lowerBodySpriteSheetPath) {
+        String key = upperBodySpriteSheetPath + "|" + lowerBodySpriteSheetPath;
+        AnimationSetAgent animationSet = agentAnimationSets.get(key);
+        if (animationSet == null) {
+            animationSet = new AnimationSetAgent(spriteAtlas.findRegion(upperBodySpriteSheetPath), spriteAtlas.findRegion(lowerBodySpriteSheetPath));
+            agentAnimationSets.put(key, animationSet);
+        }
+        return animationSet;
+    }
+
+    public TextureRegion[] getHitEffectFrames() {
+        if (hitEffectFrames == null) {
+            hitEffectFrames = spriteAtlas.findRegions(SpriteAtlas.BLOOD_EFFECT);
+        }
+        return hitEffectFrames;
+    }
+
+    // The textures belong to the SpriteAtlas, only the cached sets are dropped here
+    @Override
+    public void dispose() {
+        zombieAnimationSets.clear();
+        batAnimationSets.clear();
+        agentAnimationSets.clear();
+        hitEffectFrames = null;
+    }
+}
@@ -1,6 +1,5 @@
 package krazy.cat.games.Characters.AnimationSets;
 
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
@@ -16,19 +15,22 @@ public class AnimationSetAgent {
         IDLE, WALK, RUN, FALL_AIM, IDLE_RELOAD, STAND_AIM, STAND_SHOOT, STAND_AIM_UP, STAND_SHOOT_UP, CROUCH_IDLE, CROUCH_AIM, CROUCH_SHOOT, CROUCH_SHOOT_UP, CROUCH_AIM_UP, WALK_AIM, WALK_SHOOT, WALK_AIM_UP, WALK_SHOOT_UP, RUN_SHOOT_UP, RUN_AIM_UP, RUN_SHOOT, RUN_AIM, JUMP, JUMP_SHOOT, FALL, FALL_SHOOT, SLIDE, SLIDE_SHOOT, IDLE_CHARISMATIC, IDLE_BACK_VIEW, DEATH, JUMP_AIM
     }
 
+    // Frame tables are built once and never modified afterwards: the sheets face left, the mirrored tables face right
     private final Map<AnimationType, Animation<TextureRegion>> upperBodyAnimations;
     private final Map<AnimationType, Animation<TextureRegion>> lowerBodyAnimations;
-    private boolean upperBodyFramesFlipped = false;
-    private boolean lowerBodyFramesFlipped = false;
+    private final Map<AnimationType, Animation<TextureRegion>> mirroredUpperBodyAnimations;
+    private final Map<AnimationType, Animation<TextureRegion>> mirroredLowerBodyAnimations;
 
-    public AnimationSetAgent(Texture upperBodySpriteSheet, Texture lowerBodySpriteSheet) {
+    public AnimationSetAgent(TextureRegion upperBodySpriteSheet, TextureRegion lowerBodySpriteSheet) {
         upperBodyAnimations = CreateUpperBodyAnimations(upperBodySpriteSheet);
         lowerBodyAnimations = CreateLowerBodyAnimations(lowerBodySpriteSheet);
+        mirroredUpperBodyAnimations = MirroredAnimations.mirror(upperBodyAnimations);
+        mirroredLowerBodyAnimations = MirroredAnimations.mirror(lowerBodyAnimations);
     }
 
-    private Map<AnimationType, Animation<TextureRegion>> CreateUpperBodyAnimations(Texture spriteSheet) {
+    private Map<AnimationType, Animation<TextureRegion>> CreateUpperBodyAnimations(TextureRegion spriteSheet) {
         final Map<AnimationType, Animation<TextureRegion>> upperBodyAnimations;
-        TextureRegion[][] textureRegions = TextureRegion.split(spriteSheet, FRAME_WIDTH, FRAME_HEIGHT);
+        TextureRegion[][] textureRegions = spriteSheet.split(FRAME_WIDTH, FRAME_HEIGHT);
         upperBodyAnimations = new EnumMap<>(AnimationType.class);
 
         upperBodyAnimations.put(AnimationType.IDLE, createAnimation(textureRegions, 0, 5));
@@ -75,9 +77,9 @@ public class AnimationSetAgent {
         return upperBodyAnimations;
     }
 
-    private Map<AnimationType, Animation<TextureRegion>> CreateLowerBodyAnimations(Texture spriteSheet) {
+    private Map<AnimationType, Animation<TextureRegion>> CreateLowerBodyAnimations(TextureRegion spriteSheet) {
         final Map<AnimationType, Animation<TextureRegion>> lowerBodyAnimations;
-        TextureRegion[][] textureRegions = TextureRegion.split(spriteSheet, FRAME_WIDTH, FRAME_HEIGHT);
+        TextureRegion[][] textureRegions = spriteSheet.split(FRAME_WIDTH, FRAME_HEIGHT);
         lowerBodyAnimations = new EnumMap<>(AnimationType.class);
 
         lowerBodyAnimations.put(AnimationType.IDLE, createAnimation(textureRegions, 0, 5));
@@ -134,8 +136,8 @@ public class AnimationSetAgent {
         return new Animation<>(FRAME_DURATION, frames);
     }
 
-    public TextureRegion getUpperBodyFrame(AnimationType type, float stateTime, boolean looping) {
-        Animation<TextureRegion> animation = upperBodyAnimations.get(type);
+    public TextureRegion getUpperBodyFrame(AnimationType type, float stateTime, boolean looping, boolean facingRight) {
+        Animation<TextureRegion> animation = (facingRight ? mirroredUpperBodyAnimations : upperBodyAnimations).get(type);
         if (animation == null) {
             throw new IllegalStateException("Animation " + type + " not found");
         }
@@ -150,18 +152,9 @@ public class AnimationSetAgent {
         return animation;
     }
 
-    public void flipUpperBodyFramesHorizontally() {
-        for (Animation<TextureRegion> animation : upperBodyAnimations.values()) {
-            for (TextureRegion frame : animation.getKeyFrames()) {
-                frame.flip(true, false);
-            }
-        }
-        upperBodyFramesFlipped = !upperBodyFramesFlipped;
-    }
 
-
-    public TextureRegion getLowerBodyFrame(AnimationType type, float stateTime, boolean looping) {
-        Animation<TextureRegion> animation = lowerBodyAnimations.get(type);
+    public TextureRegion getLowerBodyFrame(AnimationType type, float stateTime, boolean looping, boolean facingRight) {
+        Animation<TextureRegion> animation = (facingRight ? mirroredLowerBodyAnimations : lowerBodyAnimations).get(type);
         if (animation == null) {
             throw new IllegalStateException("Animation " + type + " not found");
         }
@@ -176,23 +169,6 @@ public class AnimationSetAgent {
         return animation;
     }
 
-    public void flipLowerBodyFramesHorizontally() {
-        for (Animation<TextureRegion> animation : lowerBodyAnimations.values()) {
-            for (TextureRegion frame : animation.getKeyFrames()) {
-                frame.flip(true, false);
-            }
-        }
-        lowerBodyFramesFlipped = !lowerBodyFramesFlipped;
-    }
-
-    public boolean isLowerBodyFramesFlipped() {
-        return lowerBodyFramesFlipped;
-    }
-
-    public boolean isUpperBodyFramesFlipped() {
-        return upperBodyFramesFlipped;
-    }
-
     public void dispose() {
         // Dispose resources if necessary
     }
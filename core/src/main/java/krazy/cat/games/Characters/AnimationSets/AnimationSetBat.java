@@ -1,6 +1,5 @@
 package krazy.cat.games.Characters.AnimationSets;
 
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
@@ -17,11 +16,12 @@ public class AnimationSetBat {
         IDLE1, IDLE2, APPEARANCE, MOVE1, MOVE2, TURN_AROUND, DASH, GRAB, GRAB2, HIT, DEATH1, DEATH2
     }
 
+    // Frame tables are built once and never modified afterwards: the sheet faces left, the mirrored table faces right
     private final Map<BatAnimationType, Animation<TextureRegion>> animations;
-    private boolean flipped = false;
+    private final Map<BatAnimationType, Animation<TextureRegion>> mirroredAnimations;
 
-    public AnimationSetBat(Texture spriteSheet) {
-        TextureRegion[][] textureRegions = TextureRegion.split(spriteSheet, FRAME_WIDTH, FRAME_HEIGHT);
+    public AnimationSetBat(TextureRegion spriteSheet) {
+        TextureRegion[][] textureRegions = spriteSheet.split(FRAME_WIDTH, FRAME_HEIGHT);
         animations = new EnumMap<>(BatAnimationType.class);
         animations.put(BatAnimationType.IDLE1, createAnimation(textureRegions, 0, 0, 16));
         animations.put(BatAnimationType.APPEARANCE, createAnimation(textureRegions, 1, 6, 4));
@@ -36,6 +36,8 @@ public class AnimationSetBat {
         animations.put(BatAnimationType.DEATH2, createAnimation(textureRegions, 9, 0, 6));
 
 
+        mirroredAnimations = MirroredAnimations.mirror(animations);
+
         // Debug: Check that all animations are created
         for (BatAnimationType type : BatAnimationType.values()) {
             if (animations.get(type) == null) {
@@ -64,14 +66,23 @@ public class AnimationSetBat {
         return new Animation<>(FRAME_DURATION, frames);
     }
 
-    public TextureRegion getFrame(BatAnimationType type, float stateTime, boolean looping) {
-        Animation<TextureRegion> animation = animations.get(type);
+    public TextureRegion getFrame(BatAnimationType type, float stateTime, boolean looping, boolean facingRight) {
+        Animation<TextureRegion> animation = (facingRight ? mirroredAnimations : animations).get(type);
         if (animation == null) {
             throw new IllegalStateException("Animation " + type + " not found");
         }
         return animation.getKeyFrame(stateTime, looping);
     }
 
+    // Every frame of the sheet has the same size, so bounds can be computed without resolving the current frame
+    public int getFrameWidth() {
+        return FRAME_WIDTH;
+    }
+
+    public int getFrameHeight() {
+        return FRAME_HEIGHT;
+    }
+
     public Animation<TextureRegion> getAnimation(BatAnimationType type) {
         Animation<TextureRegion> animation = animations.get(type);
         if (animation == null) {
@@ -80,19 +91,6 @@ public class AnimationSetBat {
         return animation;
     }
 
-    public void flipFramesHorizontally() {
-        for (Animation<TextureRegion> animation : animations.values()) {
-            for (TextureRegion frame : animation.getKeyFrames()) {
-                frame.flip(true, false);
-            }
-        }
-        flipped = !flipped;
-    }
-
-    public boolean isFlipped() {
-        return flipped;
-    }
-
     public void dispose() {
         // Dispose resources if necessary
     }
@@ -1,6 +1,5 @@
 package krazy.cat.games.Characters.AnimationSets;
 
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
@@ -17,11 +16,12 @@ public class AnimationSetZombie {
         IDLE, WALK, ATTACK, EAT_PREY, WALK_ATTACK, HIT, DEATH, CRAWL_IDLE, CRAWL, CRAWL_EAT_PREY, CRAWL_DEATH
     }
 
+    // Frame tables are built once and never modified afterwards: the sheet faces left, the mirrored table faces right
     private final Map<ZombieAnimationType, Animation<TextureRegion>> animations;
-    private boolean flipped = false;
+    private final Map<ZombieAnimationType, Animation<TextureRegion>> mirroredAnimations;
 
-    public AnimationSetZombie(Texture spriteSheet) {
-        TextureRegion[][] textureRegions = TextureRegion.split(spriteSheet, FRAME_WIDTH, FRAME_HEIGHT);
+    public AnimationSetZombie(TextureRegion spriteSheet) {
+        TextureRegion[][] textureRegions = spriteSheet.split(FRAME_WIDTH, FRAME_HEIGHT);
         animations = new EnumMap<>(ZombieAnimationType.class);
 
         animations.put(ZombieAnimationType.IDLE, createAnimation(textureRegions, 0, 0, 7));
@@ -36,6 +36,8 @@ public class AnimationSetZombie {
         animations.put(ZombieAnimationType.CRAWL_EAT_PREY, createAnimation(textureRegions, 6, 6, 5));
         animations.put(ZombieAnimationType.CRAWL_DEATH, createAnimation(textureRegions, 7, 1, 7));
 
+        mirroredAnimations = MirroredAnimations.mirror(animations);
+
         // Debug: Check that all animations are created
         for (ZombieAnimationType type : ZombieAnimationType.values()) {
             if (animations.get(type) == null) {
@@ -64,14 +66,23 @@ public class AnimationSetZombie {
         return new Animation<>(FRAME_DURATION, frames);
     }
 
-    public TextureRegion getFrame(ZombieAnimationType type, float stateTime, boolean looping) {
-        Animation<TextureRegion> animation = animations.get(type);
+    public TextureRegion getFrame(ZombieAnimationType type, float stateTime, boolean looping, boolean facingRight) {
+        Animation<TextureRegion> animation = (facingRight ? mirroredAnimations : animations).get(type);
         if (animation == null) {
             throw new IllegalStateException("Animation " + type + " not found");
         }
         return animation.getKeyFrame(stateTime, looping);
     }
 
+    // Every frame of the sheet has the same size, so bounds can be computed without resolving the current frame
+    public int getFrameWidth() {
+        return FRAME_WIDTH;
+    }
+
+    public int getFrameHeight() {
+        return FRAME_HEIGHT;
+    }
+
     public Animation<TextureRegion> getAnimation(ZombieAnimationType type) {
         Animation<TextureRegion> animation = animations.get(type);
         if (animation == null) {
@@ -80,19 +91,6 @@ public class AnimationSetZombie {
         return animation;
     }
 
-    public void flipFramesHorizontally() {
-        for (Animation<TextureRegion> animation : animations.values()) {
-            for (TextureRegion frame : animation.getKeyFrames()) {
-                frame.flip(true, false);
-            }
-        }
-        flipped = !flipped;
-    }
-
-    public boolean isFlipped() {
-        return flipped;
-    }
-
     public void dispose() {
 
     }
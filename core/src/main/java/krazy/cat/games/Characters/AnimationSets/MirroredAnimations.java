@@ -0,0 +1,35 @@
+package krazy.cat.games.Characters.AnimationSets;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+// Builds the facing-right frame tables of the animation sets, whose sheets all face left
+final class MirroredAnimations {
+    private MirroredAnimations() {
+    }
+
+    // Every frame is copied into its own flipped region, so the source regions stay untouched. Missing animations
+    // (null values) are left out. The source must be an EnumMap or not empty.
+    static <K extends Enum<K>> Map<K, Animation<TextureRegion>> mirror(Map<K, Animation<TextureRegion>> source) {
+        Map<K, Animation<TextureRegion>> mirrored = new EnumMap<>(source);
+        mirrored.values().removeIf(Objects::isNull);
+        for (Map.Entry<K, Animation<TextureRegion>> entry : mirrored.entrySet()) {
+            entry.setValue(mirror(entry.getValue()));
+        }
+        return mirrored;
+    }
+
+    private static Animation<TextureRegion> mirror(Animation<TextureRegion> animation) {
+        TextureRegion[] sourceFrames = animation.getKeyFrames();
+        TextureRegion[] frames = new TextureRegion[sourceFrames.length];
+        for (int i = 0; i < sourceFrames.length; i++) {
+            frames[i] = new TextureRegion(sourceFrames[i]);
+            frames[i].flip(true, false);
+        }
+        return new Animation<>(animation.getFrameDuration(), frames);
+    }
+}
@@ -4,18 +4,26 @@ import static krazy.cat.games.GameLoop.SCALE;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
 
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
 
+import krazy.cat.games.Audio.SoundMixer;
 import krazy.cat.games.Bullet;
+import krazy.cat.games.EntityContainer;
+import krazy.cat.games.HitFlash;
+import krazy.cat.games.RenderQueue;
+import krazy.cat.games.ProjectileManager;
+import krazy.cat.games.Collision.CollisionGrid;
+import krazy.cat.games.Collision.DynamicGrid;
+import krazy.cat.games.Effects.EffectType;
+import krazy.cat.games.Effects.ParticleSystem;
 import krazy.cat.games.Characters.AnimationSets.AnimationSetAgent;
 import krazy.cat.games.Characters.AnimationSets.AnimationSetAgent.AnimationType;
 
@@ -27,7 +35,12 @@ public class CharacterManager {
 
     private final AnimationSetAgent animationSetAgent;
     private Vector2 mainCharacter = new Vector2();
+    private final Vector2 previousPosition = new Vector2();
+    private final Vector2 renderPosition = new Vector2();
     private Vector2 velocity = new Vector2();
+    private final List<Rectangle> nearbyColliders = new ArrayList<>();
+    private final IntArray nearbyIds = new IntArray();
+    private final Rectangle bounds = new Rectangle(); // updated once per tick by updateBounds()
 
     private float stateTime = 0f;
     private AnimationType currentAnimationState = AnimationType.IDLE;
@@ -35,49 +48,44 @@ public class CharacterManager {
     private boolean jumpPressedLastFrame = false; // Track if jump button was pressed last frame
     private static final int MAX_JUMPS = 2; // Maximum number of jumps allowed
 
+    private static final String JUMP_SOUND = "SFX/Jump.wav";
+    private static final String SHOOT_SOUND = "SFX/Shoot.wav";
+    private static final String HIT_SOUND = "SFX/PlayerHit.wav";
+
+    private final SoundMixer soundMixer;
     private Sound jumpSound;
     private Sound shootSound;
     private Sound hitSound;
     private boolean isHit;
-    private TextureRegion[] hitEffect;
+    private final ParticleSystem particleSystem;
 
     protected float hitEffectStateTime;
-    protected static final float HIT_EFFECT_DURATION = 0.1f;
-
-    private ShaderProgram redShader;
+    protected static final float HIT_EFFECT_DURATION = 0.9f; // How long the character stays hit (and flashes)
+    private static final float HIT_COLOR = HitFlash.flash(Color.WHITE_FLOAT_BITS);
 
     private boolean isCrouching = false;
     private boolean isShooting = false;
     private boolean isFacingRightUpperBody = false;
     private boolean isFacingRightLowerBody = false;
 
-    public CharacterManager(Texture upperBodySpriteSheet, Texture lowerBodySpriteSheet) {
-        animationSetAgent = new AnimationSetAgent(upperBodySpriteSheet, lowerBodySpriteSheet);
+    public CharacterManager(AnimationSetAgent animationSetAgent, SoundMixer soundMixer, ParticleSystem particleSystem) {
+        this.animationSetAgent = animationSetAgent;
+        this.soundMixer = soundMixer;
+        this.particleSystem = particleSystem;
         resetCharacterPosition();
         initializeSounds();
-        loadHitEffect();
-        initializeShaders();
-    }
-
-    private void initializeShaders() {
-        ShaderProgram.pedantic = false;
-        redShader = new ShaderProgram(
-            Gdx.files.internal("Shaders/vertex.glsl"),
-            Gdx.files.internal("Shaders/fragment.glsl")
-        );
-        if (!redShader.isCompiled()) {
-            Gdx.app.error("Shader Error", redShader.getLog());
-        }
     }
 
     private void initializeSounds() {
-        jumpSound = Gdx.audio.newSound(Gdx.files.internal("SFX/Jump.wav"));
-        shootSound = Gdx.audio.newSound(Gdx.files.internal("SFX/Shoot.wav"));
-        hitSound = Gdx.audio.newSound(Gdx.files.internal("SFX/PlayerHit.wav"));
+        jumpSound = soundMixer.getSoundBank().acquire(JUMP_SOUND);
+        shootSound = soundMixer.getSoundBank().acquire(SHOOT_SOUND);
+        hitSound = soundMixer.getSoundBank().acquire(HIT_SOUND);
     }
 
     public void resetCharacterPosition() {
         mainCharacter.set(Gdx.graphics.getWidth() / 2f - getCurrentFrameWidth() / 2f, Gdx.graphics.getHeight() / 2f);
+        previousPosition.set(mainCharacter);
+        updateBounds();
         stateTime = 0f;
         currentAnimationState = AnimationType.IDLE;
         velocity.set(0, 0);
@@ -86,24 +94,32 @@ public class CharacterManager {
     }
 
     public void dispose() {
-        animationSetAgent.dispose();
-        redShader.dispose();
+        soundMixer.getSoundBank().release(JUMP_SOUND);
+        soundMixer.getSoundBank().release(SHOOT_SOUND);
+        soundMixer.getSoundBank().release(HIT_SOUND);
     }
 
     public TextureRegion getCurrentUpperBodyFrame() {
-        adjustUpperBodyFrameOrientation();
-        return animationSetAgent.getLowerBodyFrame(currentAnimationState, stateTime, true);
+        return animationSetAgent.getLowerBodyFrame(currentAnimationState, stateTime, true, isFacingRightLowerBody);
     }
 
     public TextureRegion getCurrentLowerBodyFrame() {
-        adjustLowerBodyFrameOrientation();
-        return animationSetAgent.getUpperBodyFrame(currentAnimationState, stateTime, true);
+        return animationSetAgent.getUpperBodyFrame(currentAnimationState, stateTime, true, isFacingRightUpperBody);
     }
 
     public Vector2 getMainCharacter() {
         return mainCharacter;
     }
 
+    public void savePreviousPosition() {
+        previousPosition.set(mainCharacter);
+    }
+
+    // Position between the previous and the current simulation step, used for rendering only
+    public Vector2 getRenderPosition(float alpha) {
+        return renderPosition.set(previousPosition).lerp(mainCharacter, alpha);
+    }
+
     public Vector2 getVelocity() {
         return velocity;
     }
@@ -111,6 +127,10 @@ public class CharacterManager {
     public void playHitEffect() {
         isHit = true;
         hitEffectStateTime = 0f;
+
+        // Same spot the blood effect used to be drawn at: on the front of the character, above the middle
+        Rectangle characterRect = getMainCharacterRectangle();
+        particleSystem.spawn(EffectType.PLAYER_BLOOD, characterRect.x + characterRect.width - 96, characterRect.y + characterRect.height / 2 + 75, 1);
     }
 
     public void update(float deltaTime) {
@@ -119,7 +139,7 @@ public class CharacterManager {
 
         if (isHit) {
             hitEffectStateTime += deltaTime;
-            if (hitEffectStateTime > HIT_EFFECT_DURATION * hitEffect.length) {
+            if (hitEffectStateTime > HIT_EFFECT_DURATION) {
                 isHit = false; // Set isHit to false after hit effect has finished playing
             }
         }
@@ -161,12 +181,13 @@ public class CharacterManager {
         }
     }
 
-    public void handleCollisions(List<Rectangle> platforms, List<Rectangle> rectangles, List<ZombieManager> zombies, List<BatManager> bats, List<Bullet> bullets) {
+    public void handleCollisions(List<Rectangle> platforms, CollisionGrid collisionGrid, EnemyStore enemies, DynamicGrid enemyGrid, ProjectileManager projectileManager) {
+        updateBounds(); // Movement for this tick is done
         handleRectangleCollisions(platforms);
-        handleRectangleCollisions(rectangles);
-        handleZombieCollisions(zombies);
-        handleBatCollisions(bats);
-        handleBulletCollisions(bullets);
+        collisionGrid.queryColliders(getMainCharacterRectangle(), nearbyColliders);
+        handleRectangleCollisions(nearbyColliders);
+        handleEnemyCollisions(enemies, enemyGrid);
+        handleBulletCollisions(projectileManager.getBullets(), projectileManager.getBulletGrid());
     }
 
     private void handleRectangleCollisions(List<Rectangle> rectangles) {
@@ -176,6 +197,7 @@ public class CharacterManager {
             if (characterRect.overlaps(rectangle)) {
                 if (velocity.y < 0 && mainCharacter.y + characterRect.height / 2 >= (rectangle.y + rectangle.height)) {
                     mainCharacter.y = rectangle.y + rectangle.height;
+                    bounds.y = mainCharacter.y;
                     velocity.y = 0;
                     jumpCount = 0; // Reset jump count when landing on a platform
                 }
@@ -183,62 +205,23 @@ public class CharacterManager {
         }
     }
 
-    private void handleZombieCollisions(List<ZombieManager> zombies) {
-        Rectangle characterRect = getMainCharacterRectangle();
-
-        for (ZombieManager zombie : zombies) {
-            if (characterRect.overlaps(zombie.getMainZombieRectangle()) && !zombie.isDead() && zombie.isAttacking()) {
-                if (!isHit) {
-                    getHit();
-                    playHitEffect();
-                }
-                // Handle collision (e.g., reduce health, trigger an effect, etc.)
-                // Add any additional logic here for when the character collides with a zombie.
-            }
-        }
-    }
-
-    private void handleBatCollisions(List<BatManager> bats) {
-        Rectangle characterRect = getMainCharacterRectangle();
-
-        for (BatManager bat : bats) {
-            if (characterRect.overlaps(bat.getBatRectangle()) && !bat.isDead() && bat.isAttacking()) {
+    private void handleEnemyCollisions(EnemyStore enemies, DynamicGrid enemyGrid) {
+        enemyGrid.queryRegion(getMainCharacterRectangle(), nearbyIds);
+        for (int n = 0; n < nearbyIds.size; n++) {
+            int i = nearbyIds.get(n);
+            if (!enemies.hasFlag(i, EnemyStore.DEAD) && enemies.hasFlag(i, EnemyStore.ATTACKING)) {
                 if (!isHit) {
                     getHit();
                     playHitEffect();
                 }
                 // Handle collision (e.g., reduce health, trigger an effect, etc.)
-                // Add any additional logic here for when the character collides with a zombie.
             }
         }
     }
 
-    private void loadHitEffect() {
-        hitEffect = new TextureRegion[9];
-
-        // List of file paths for the 10 images
-        String[] hitEffectFilePaths = {
-            "BloodEffect/B001.png",
-            "BloodEffect/B002.png",
-            "BloodEffect/B003.png",
-            "BloodEffect/B004.png",
-            "BloodEffect/B005.png",
-            "BloodEffect/B006.png",
-            "BloodEffect/B007.png",
-            "BloodEffect/B008.png",
-            "BloodEffect/B009.png",
-        };
-
-        // Load each image into the hitEffect array
-        for (int i = 0; i < hitEffectFilePaths.length; i++) {
-            Texture texture = new Texture(Gdx.files.internal(hitEffectFilePaths[i]));
-            hitEffect[i] = new TextureRegion(texture);
-        }
-    }
-
     private void getHit() {
         isHit = true;
-        hitSound.play();
+        soundMixer.play(hitSound, SoundMixer.PRIORITY_HIGH);
     }
 
     public boolean isShooting() {
@@ -271,7 +254,7 @@ public class CharacterManager {
         if (jump && !jumpPressedLastFrame && jumpCount < MAX_JUMPS) {
             velocity.y = JUMP_SPEED;
             jumpCount++;
-            jumpSound.play();
+            soundMixer.play(jumpSound, SoundMixer.PRIORITY_NORMAL);
         }
 
         if (moveLeft || runLeft) {
@@ -305,24 +288,6 @@ public class CharacterManager {
         if (isCrouching) velocity.x = 0;
     }
 
-    private void adjustUpperBodyFrameOrientation() {
-        if (isFacingRightUpperBody && !animationSetAgent.isUpperBodyFramesFlipped()) {
-            animationSetAgent.flipUpperBodyFramesHorizontally();
-
-        } else if (!isFacingRightUpperBody && animationSetAgent.isUpperBodyFramesFlipped()) {
-            animationSetAgent.flipUpperBodyFramesHorizontally();
-        }
-    }
-
-    private void adjustLowerBodyFrameOrientation() {
-        if (isFacingRightLowerBody && !animationSetAgent.isLowerBodyFramesFlipped()) {
-            animationSetAgent.flipLowerBodyFramesHorizontally();
-
-        } else if (!isFacingRightLowerBody && animationSetAgent.isLowerBodyFramesFlipped()) {
-            animationSetAgent.flipLowerBodyFramesHorizontally();
-        }
-    }
-
     public void setFacingRightUpperBody(boolean isFacingRightUpperBody) {
         this.isFacingRightUpperBody = isFacingRightUpperBody;
     }
@@ -336,82 +301,64 @@ public class CharacterManager {
         return currentFrame != null ? currentFrame.getRegionWidth() : 0;
     }
 
-    public Rectangle getMainCharacterRectangle() {
+    public void updateBounds() {
         TextureRegion currentFrame = getCurrentUpperBodyFrame();
 
-        return new Rectangle(isFacingRightUpperBody ? mainCharacter.x + 100 : mainCharacter.x + 150, mainCharacter.y, currentFrame.getRegionWidth() * SCALE - 250, currentFrame.getRegionHeight() * SCALE - 100);
+        bounds.set(isFacingRightUpperBody ? mainCharacter.x + 100 : mainCharacter.x + 150, mainCharacter.y, currentFrame.getRegionWidth() * SCALE - 250, currentFrame.getRegionHeight() * SCALE - 100);
+    }
+
+    // Highest speed along either axis the character can reach within the given time: it may start to run or jump at
+    // any moment, and a fall gets faster the longer it lasts
+    public float getTopSpeed(float withinSeconds) {
+        return Math.max(Math.max(RUN_SPEED, JUMP_SPEED), Math.abs(velocity.y)) - GRAVITY * withinSeconds;
+    }
+
+    // Landing on a platform moves the character up by at most half its height in one tick
+    public float getMaxLandingSnap() {
+        return bounds.height / 2;
+    }
+
+    // Cached bounds as of the last updateBounds() call, do not modify
+    public Rectangle getMainCharacterRectangle() {
+        return bounds;
     }
 
-    public Bullet shoot() {
+    public Bullet shoot(ProjectileManager projectileManager) {
         float bulletOffsetY = isCrouching ? 50.f : 117.5f; // Adding an offset of 50 to the top
         float bulletOffsetX = isFacingRightUpperBody ? 64 * SCALE - 50 : -64 * SCALE + 275; // Different x starting positions depending on the direction
 
-        Vector2 bulletPosition = new Vector2(mainCharacter.x + bulletOffsetX, mainCharacter.y + (float) getCurrentUpperBodyFrame().getRegionHeight() / 2 + bulletOffsetY);
+        float bulletX = mainCharacter.x + bulletOffsetX;
+        float bulletY = mainCharacter.y + (float) getCurrentUpperBodyFrame().getRegionHeight() / 2 + bulletOffsetY;
         isShooting = true; // Set shooting flag to true
         stateTime = 0f; // Reset state time to start animation from the beginning
-        shootSound.play();
-        return new Bullet(bulletPosition, isFacingRightUpperBody);
+        soundMixer.play(shootSound, SoundMixer.PRIORITY_NORMAL);
+        return projectileManager.spawn(bulletX, bulletY, isFacingRightUpperBody);
     }
 
-    public void handleBulletCollisions(List<Bullet> bullets) {
-        Rectangle characterRect = getMainCharacterRectangle();
-        Iterator<Bullet> bulletIterator = bullets.iterator();
-
-        while (bulletIterator.hasNext()) {
-            Bullet bullet = bulletIterator.next();
-            if (characterRect.overlaps(bullet.getBoundingRectangle())) {
+    public void handleBulletCollisions(EntityContainer<Bullet> bullets, DynamicGrid bulletGrid) {
+        bulletGrid.queryRegion(getMainCharacterRectangle(), nearbyIds);
+        for (int n = 0; n < nearbyIds.size; n++) {
+            Bullet bullet = bullets.get(nearbyIds.get(n));
+            if (bullet.isActive()) {
                 //TODO: think of removing or keeping
-                bulletIterator.remove();
-                hitSound.play();
+                bullet.deactivate();
+                soundMixer.play(hitSound, SoundMixer.PRIORITY_HIGH);
                 // Handle collision (e.g., reduce health, trigger an effect, etc.)
             }
         }
     }
 
-    public void renderCharacter(Batch batch) {
-        // Apply red shader if the character is hit
-        if (isHit) {
-            batch.setShader(redShader);
-            redShader.bind();
-            redShader.setUniformf("u_isHit", 1.0f);
-        } else {
-            batch.setShader(null);
-        }
+    public void renderCharacter(RenderQueue renderQueue, float alpha) {
+        Vector2 position = getRenderPosition(alpha);
 
-        // Render hit effect if it is playing
-        if (isHit) {
-            renderHitEffect(batch);
-        }
+        // Tint red while the character is hit
+        float color = isHit ? HIT_COLOR : Color.WHITE_FLOAT_BITS;
 
         // Render the main character
-        batch.draw(getCurrentUpperBodyFrame(), mainCharacter.x, mainCharacter.y, 64 * SCALE, 64 * SCALE);
+        renderQueue.submit(getCurrentUpperBodyFrame(), position.x, position.y, 64 * SCALE, 64 * SCALE, RenderQueue.LAYER_PLAYER, 1, color);
         if (isFacingRightLowerBody != isFacingRightUpperBody) // TODO: fix those "Magic Numbers" when creating shooting joystick (!)
-            batch.draw(getCurrentLowerBodyFrame(), isFacingRightUpperBody ? mainCharacter.x + 42.5f : mainCharacter.x - 45f, mainCharacter.y, 64 * SCALE, 64 * SCALE);
+            renderQueue.submit(getCurrentLowerBodyFrame(), isFacingRightUpperBody ? position.x + 42.5f : position.x - 45f, position.y, 64 * SCALE, 64 * SCALE, RenderQueue.LAYER_PLAYER, 2, color);
         else
-            batch.draw(getCurrentLowerBodyFrame(), mainCharacter.x, mainCharacter.y, 64 * SCALE, 64 * SCALE);
-
-        // Reset shader after drawing
-        if (isHit) {
-            batch.setShader(null);
-        }
-    }
-
-    private void renderHitEffect(Batch batch) {
-        int frameIndex = (int) (hitEffectStateTime / HIT_EFFECT_DURATION);
-        if (frameIndex < hitEffect.length) {
-            TextureRegion hitFrame = hitEffect[frameIndex];
-
-            Rectangle characterRect = getMainCharacterRectangle();
-            float hitEffectX = characterRect.x + (characterRect.width - hitFrame.getRegionWidth() * 3);
-            float hitEffectY = characterRect.y + (characterRect.height - hitFrame.getRegionHeight() * 3) / 2 + 75;
-
-            batch.draw(
-                hitFrame,
-                hitEffectX,
-                hitEffectY,
-                hitFrame.getRegionWidth() * 3,
-                hitFrame.getRegionHeight() * 3
-            );
-        }
+            renderQueue.submit(getCurrentLowerBodyFrame(), position.x, position.y, 64 * SCALE, 64 * SCALE, RenderQueue.LAYER_PLAYER, 2, color);
     }
 }
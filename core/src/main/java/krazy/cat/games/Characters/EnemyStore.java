@@ -0,0 +1,144 @@
+package krazy.cat.games.Characters;
+
+import com.badlogic.gdx.math.Rectangle;
+
+import java.util.Arrays;
+
+// Structure of arrays for all enemies: every field lives in its own primitive array indexed by the enemy slot,
+// so the EnemySystems walk contiguous memory instead of chasing one object (and its Vector2s) per enemy.
+// Enemies are packed into [0, size), removing one moves the last enemy into its slot.
+public class EnemyStore {
+    // Enemy types
+    public static final int ZOMBIE = 0;
+    public static final int BAT = 1;
+
+    // Bits of flags[]
+    public static final int FACING_RIGHT = 1;
+    public static final int ATTACKING = 1 << 1;
+    public static final int HIT = 1 << 2;
+    public static final int DEAD = 1 << 3;
+    public static final int DISPOSABLE = 1 << 4;
+    public static final int ASLEEP = 1 << 5; // Outside of the activity zone, kept until the enemy comes close again
+    public static final int FROZEN = 1 << 6; // Skipped by this tick's simulation
+
+    public static final int MAX_HEALTH = 100;
+    private static final int INITIAL_CAPACITY = 64;
+
+    float[] x = new float[INITIAL_CAPACITY];
+    float[] y = new float[INITIAL_CAPACITY];
+    float[] previousX = new float[INITIAL_CAPACITY];
+    float[] previousY = new float[INITIAL_CAPACITY];
+    float[] velocityX = new float[INITIAL_CAPACITY];
+    float[] velocityY = new float[INITIAL_CAPACITY];
+    float[] stateTime = new float[INITIAL_CAPACITY];
+    float[] stepTime = new float[INITIAL_CAPACITY]; // Time the timers of the enemy advance by this tick
+    float[] skippedTime = new float[INITIAL_CAPACITY]; // Time frozen since its last far update
+    // Cached bounds, updated once per tick by the EnemySystems
+    float[] boundsX = new float[INITIAL_CAPACITY];
+    float[] boundsY = new float[INITIAL_CAPACITY];
+    float[] boundsWidth = new float[INITIAL_CAPACITY];
+    float[] boundsHeight = new float[INITIAL_CAPACITY];
+    int[] type = new int[INITIAL_CAPACITY];
+    int[] state = new int[INITIAL_CAPACITY]; // Ordinal of the current animation type
+    int[] health = new int[INITIAL_CAPACITY];
+    int[] flags = new int[INITIAL_CAPACITY];
+    int size = 0;
+
+    // Returns the slot of the new enemy, the bounds are set by the next EnemySystems.updateBounds()
+    public int add(int enemyType, float positionX, float positionY) {
+        if (size == x.length) {
+            grow();
+        }
+
+        int index = size++;
+        x[index] = positionX;
+        y[index] = positionY;
+        previousX[index] = positionX;
+        previousY[index] = positionY;
+        velocityX[index] = 0;
+        velocityY[index] = 0;
+        stateTime[index] = 0;
+        stepTime[index] = 0;
+        skippedTime[index] = 0;
+        boundsX[index] = positionX;
+        boundsY[index] = positionY;
+        boundsWidth[index] = 0;
+        boundsHeight[index] = 0;
+        type[index] = enemyType;
+        state[index] = 0; // IDLE / IDLE1
+        health[index] = MAX_HEALTH;
+        flags[index] = 0;
+        return index;
+    }
+
+    // Moves the last enemy into the slot, so slots are not stable across removals
+    public void remove(int index) {
+        int last = --size;
+        if (index == last) return;
+
+        x[index] = x[last];
+        y[index] = y[last];
+        previousX[index] = previousX[last];
+        previousY[index] = previousY[last];
+        velocityX[index] = velocityX[last];
+        velocityY[index] = velocityY[last];
+        stateTime[index] = stateTime[last];
+        stepTime[index] = stepTime[last];
+        skippedTime[index] = skippedTime[last];
+        boundsX[index] = boundsX[last];
+        boundsY[index] = boundsY[last];
+        boundsWidth[index] = boundsWidth[last];
+        boundsHeight[index] = boundsHeight[last];
+        type[index] = type[last];
+        state[index] = state[last];
+        health[index] = health[last];
+        flags[index] = flags[last];
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        velocityX = Arrays.copyOf(velocityX, capacity);
+        velocityY = Arrays.copyOf(velocityY, capacity);
+        stateTime = Arrays.copyOf(stateTime, capacity);
+        stepTime = Arrays.copyOf(stepTime, capacity);
+        skippedTime = Arrays.copyOf(skippedTime, capacity);
+        boundsX = Arrays.copyOf(boundsX, capacity);
+        boundsY = Arrays.copyOf(boundsY, capacity);
+        boundsWidth = Arrays.copyOf(boundsWidth, capacity);
+        boundsHeight = Arrays.copyOf(boundsHeight, capacity);
+        type = Arrays.copyOf(type, capacity);
+        state = Arrays.copyOf(state, capacity);
+        health = Arrays.copyOf(health, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getType(int index) {
+        return type[index];
+    }
+
+    public boolean hasFlag(int index, int flag) {
+        return (flags[index] & flag) != 0;
+    }
+
+    public Rectangle getBounds(int index, Rectangle out) {
+        return out.set(boundsX[index], boundsY[index], boundsWidth[index], boundsHeight[index]);
+    }
+
+    // Same test as Rectangle.overlaps(), without building a Rectangle per enemy
+    public boolean overlaps(int index, Rectangle rectangle) {
+        return boundsX[index] < rectangle.x + rectangle.width && boundsX[index] + boundsWidth[index] > rectangle.x
+            && boundsY[index] < rectangle.y + rectangle.height && boundsY[index] + boundsHeight[index] > rectangle.y;
+    }
+}
@@ -0,0 +1,607 @@
+package krazy.cat.games.Characters;
+
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import krazy.cat.games.Audio.SoundMixer;
+import krazy.cat.games.Bullet;
+import krazy.cat.games.EntityContainer;
+import krazy.cat.games.Characters.AnimationSets.AnimationSetBat;
+import krazy.cat.games.Characters.AnimationSets.AnimationSetBat.BatAnimationType;
+import krazy.cat.games.Characters.AnimationSets.AnimationSetZombie;
+import krazy.cat.games.Characters.AnimationSets.AnimationSetZombie.ZombieAnimationType;
+import krazy.cat.games.Collision.CollisionGrid;
+import krazy.cat.games.Collision.DynamicGrid;
+import krazy.cat.games.Effects.EffectType;
+import krazy.cat.games.Effects.ParticleSystem;
+import krazy.cat.games.HitFlash;
+import krazy.cat.games.ProjectileManager;
+import krazy.cat.games.RenderQueue;
+
+// The behaviour of zombies and bats, written as one pass per concern over all enemies of an EnemyStore. The systems hold everything enemies share:
+// animation sets, sounds, effects and scratch objects.
+// Until bullet hits are resolved every enemy only touches its own slots, so the store is simulated in chunks that
+// can run on a fork-join pool. Anything with shared side effects (sounds, bullets, particles) is recorded into the
+// event buffer of the chunk and applied afterwards on the calling thread, chunk by chunk, so the outcome is the same
+// as a serial update no matter how the chunks were scheduled.
+// Only enemies near the activity center (the camera) are simulated every tick. Enemies beyond the sleep radius fall
+// asleep and stay frozen (no movement, animation or collision work) until they come back within the smaller wake
+// radius, so enemies near the edge do not flap between the states. Optionally sleepers get a coarse update every few
+// ticks, which keeps them roaming at a fraction of the cost.
+public class EnemySystems implements Disposable {
+    public static final float SCALE = 5.0f;
+
+    public static final float ZOMBIE_MOVE_SPEED = 100.f;
+    public static final float ZOMBIE_JUMP_SPEED = 1000.f;
+    public static final float ZOMBIE_GRAVITY = -1000.f;
+    private static final float ZOMBIE_ATTACK_RANGE = 100.f;
+
+    public static final float BAT_MOVE_SPEED = 150.f;
+    public static final float BAT_GRAVITY = -500.f;
+    private static final float BAT_ATTACK_RANGE = 50.f;
+
+    private static final int BULLET_DAMAGE = 25; //ToDo: take the damage from the bullet
+    private static final int ZOMBIE_RENDER_DEPTH = 0; // Zombies below bats
+    private static final int BAT_RENDER_DEPTH = 1;
+    private static final float HIT_COLOR = HitFlash.flash(Color.WHITE_FLOAT_BITS);
+
+    private static final String ZOMBIE_ATTACK_SOUND = "SFX/ZombieAttack.wav";
+    private static final String BAT_ATTACK_SOUND = "SFX/BatAttack.wav";
+    private static final String HIT_SOUND = "SFX/Hit.wav";
+
+    private static final int CHUNK_SIZE = 128; // Enemies per parallel task, smaller stores are updated serially
+    private static final int ATTACK_STARTED = -1; // Event code, other codes are bullet indices
+    private static final float GRID_CELL_SIZE = 512.f;
+    public static final float DEFAULT_WAKE_RADIUS = 2400.f; // World units around the activity center
+    public static final float DEFAULT_SLEEP_RADIUS = 3000.f;
+
+    // store.state[] holds the ordinals of these
+    private static final ZombieAnimationType[] ZOMBIE_STATES = ZombieAnimationType.values();
+    private static final BatAnimationType[] BAT_STATES = BatAnimationType.values();
+
+    private final AnimationSetZombie zombieAnimations;
+    private final AnimationSetBat batAnimations;
+    private final SoundMixer soundMixer;
+    private final ParticleSystem particleSystem;
+    private final Sound zombieAttackSound;
+    private final Sound batAttackSound;
+    private final Sound hitSound;
+
+    private final List<Chunk> chunks = new ArrayList<>();
+    private final List<Chunk> scheduledChunks = new ArrayList<>();
+    private final ParallelPhase parallelPhase = new ParallelPhase();
+    private ForkJoinPool pool; // null = serial updates
+    private final DynamicGrid enemyGrid = new DynamicGrid(GRID_CELL_SIZE); // Enemies by slot
+    private float maxVerticalSpeed; // Of all enemies, taken when the grid is rebuilt
+    private float maxBoundsHeight;
+
+    private boolean activityZones = true;
+    private float activityX;
+    private float activityY;
+    private float wakeRadius = DEFAULT_WAKE_RADIUS;
+    private float sleepRadius = DEFAULT_SLEEP_RADIUS;
+    private int farUpdateInterval = 0; // Ticks between the updates of sleeping enemies, 0 = frozen while asleep
+    private int tick = 0;
+
+    // Input of the current update, only read while the chunks run
+    private EnemyStore store;
+    private float deltaTime;
+    private float characterX;
+    private float characterY;
+    private List<Rectangle> platforms;
+    private CollisionGrid collisionGrid;
+    private EntityContainer<Bullet> bullets;
+    private DynamicGrid bulletGrid;
+
+    // The animation sets are shared with the AnimationRegistry, which disposes them
+    public EnemySystems(AnimationSetZombie zombieAnimations, AnimationSetBat batAnimations, SoundMixer soundMixer, ParticleSystem particleSystem) {
+        this.zombieAnimations = zombieAnimations;
+        this.batAnimations = batAnimations;
+        this.soundMixer = soundMixer;
+        this.particleSystem = particleSystem;
+        zombieAttackSound = soundMixer.getSoundBank().acquire(ZOMBIE_ATTACK_SOUND);
+        batAttackSound = soundMixer.getSoundBank().acquire(BAT_ATTACK_SOUND);
+        hitSound = soundMixer.getSoundBank().acquire(HIT_SOUND);
+    }
+
+    public void savePreviousPositions(EnemyStore store) {
+        System.arraycopy(store.x, 0, store.previousX, 0, store.size);
+        System.arraycopy(store.y, 0, store.previousY, 0, store.size);
+    }
+
+    // false = every enemy is awake and simulated every tick, wherever it is on the map
+    public void setActivityZones(boolean activityZones) {
+        this.activityZones = activityZones;
+    }
+
+    public void setActivityCenter(float x, float y) {
+        activityX = x;
+        activityY = y;
+    }
+
+    // Sleeping enemies wake up within wakeRadius, awake ones fall asleep beyond sleepRadius
+    public void setActivityRadii(float wakeRadius, float sleepRadius) {
+        if (sleepRadius < wakeRadius) {
+            throw new IllegalArgumentException("Sleep radius " + sleepRadius + " is smaller than the wake radius " + wakeRadius);
+        }
+        this.wakeRadius = wakeRadius;
+        this.sleepRadius = sleepRadius;
+    }
+
+    // Sleeping enemies are updated once every interval ticks, staggered by slot; 0 keeps them frozen.
+    // Such an update catches up on the skipped time for the timers and animations only, the enemy moves for a single
+    // tick like an awake one. Platform landing is not swept and the bullet scheduling relies on the top speeds, so
+    // a far update never moves an enemy further than a normal tick would; sleepers just roam at a fraction of their speed.
+    public void setFarUpdateInterval(int interval) {
+        farUpdateInterval = Math.max(0, interval);
+    }
+
+    // Starts or stops the worker pool, one worker per core
+    public void setParallel(boolean parallel) {
+        if (parallel == (pool != null)) return;
+
+        if (parallel) {
+            pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        } else {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    public void setMapBounds(float width, float height) {
+        enemyGrid.setBounds(width, height);
+    }
+
+    public void update(EnemyStore store, float deltaTime, CharacterManager characterManager, List<Rectangle> platforms, CollisionGrid collisionGrid, ProjectileManager projectileManager) {
+        this.store = store;
+        this.deltaTime = deltaTime;
+        this.characterX = characterManager.getMainCharacter().x;
+        this.characterY = characterManager.getMainCharacter().y;
+        this.platforms = platforms;
+        this.collisionGrid = collisionGrid;
+        this.bullets = projectileManager.getBullets();
+        this.bulletGrid = projectileManager.getBulletGrid();
+
+        tick++;
+        int chunkCount = pool != null ? (store.size + CHUNK_SIZE - 1) / CHUNK_SIZE : 1;
+        while (chunks.size() < chunkCount) {
+            chunks.add(new Chunk());
+        }
+        scheduledChunks.clear();
+        for (int c = 0; c < chunkCount; c++) {
+            Chunk chunk = chunks.get(c);
+            chunk.from = pool != null ? c * CHUNK_SIZE : 0;
+            chunk.to = pool != null ? Math.min(store.size, chunk.from + CHUNK_SIZE) : store.size;
+            chunk.events.clear();
+            chunk.reinitialize();
+            scheduledChunks.add(chunk);
+        }
+
+        if (chunkCount > 1) {
+            parallelPhase.reinitialize();
+            pool.invoke(parallelPhase);
+        } else if (chunkCount == 1) {
+            simulate(scheduledChunks.get(0));
+        }
+
+        // Merge in chunk order, which is the enemy order of a serial update
+        for (int c = 0; c < chunkCount; c++) {
+            applyEvents(store, chunks.get(c).events, bullets);
+        }
+        removeDisposable(store);
+        rebuildGrid(store);
+
+        this.store = null;
+        this.platforms = null;
+        this.collisionGrid = null;
+        this.bullets = null;
+        this.bulletGrid = null;
+    }
+
+    // The row matters, same as for the character: move, collide, animate, then look for bullet contacts.
+    // Runs on a pool worker, must only write to the slots of its own chunk and to the chunk itself.
+    private void simulate(Chunk chunk) {
+        int from = chunk.from;
+        int to = chunk.to;
+        updateActivity(store, from, to);
+        advanceTimers(store, from, to);
+        applyGravity(store, from, to, deltaTime);
+        moveTowardsCharacter(store, from, to, deltaTime, chunk.events);
+        updateBounds(store, from, to);
+        resolveCollisions(store, from, to, chunk);
+        updateAnimationStates(store, from, to);
+        findBulletContacts(store, from, to, chunk);
+    }
+
+    // Decides who sleeps and how much the timers of every enemy advance this tick (store.stepTime). Enemies that are
+    // not frozen move for deltaTime, whatever their step time.
+    private void updateActivity(EnemyStore store, int from, int to) {
+        int[] flags = store.flags;
+        float wakeRadius2 = wakeRadius * wakeRadius;
+        float sleepRadius2 = sleepRadius * sleepRadius;
+        for (int i = from; i < to; i++) {
+            int enemyFlags = flags[i];
+            if (!activityZones) {
+                enemyFlags &= ~EnemyStore.ASLEEP;
+            } else {
+                float dx = getCenterX(store, i) - activityX;
+                float dy = getCenterY(store, i) - activityY;
+                float distance2 = dx * dx + dy * dy;
+                if ((enemyFlags & EnemyStore.ASLEEP) != 0) {
+                    if (distance2 < wakeRadius2) enemyFlags &= ~EnemyStore.ASLEEP;
+                } else if (distance2 > sleepRadius2) {
+                    enemyFlags |= EnemyStore.ASLEEP;
+                }
+            }
+
+            boolean farUpdate = farUpdateInterval > 0 && (tick + i) % farUpdateInterval == 0;
+            if ((enemyFlags & EnemyStore.ASLEEP) == 0 || farUpdate) {
+                // Timers catch up on the time skipped while asleep, movement does not
+                store.stepTime[i] = store.skippedTime[i] + deltaTime;
+                store.skippedTime[i] = 0;
+                enemyFlags &= ~EnemyStore.FROZEN;
+            } else {
+                // Without far updates time stands still for sleepers, waking up must not replay it
+                if (farUpdateInterval > 0) store.skippedTime[i] += deltaTime;
+                store.stepTime[i] = 0;
+                enemyFlags |= EnemyStore.FROZEN;
+            }
+            flags[i] = enemyFlags;
+        }
+    }
+
+    private static void advanceTimers(EnemyStore store, int from, int to) {
+        float[] stateTime = store.stateTime;
+        float[] stepTime = store.stepTime;
+        for (int i = from; i < to; i++) {
+            stateTime[i] += stepTime[i];
+        }
+    }
+
+    private static void applyGravity(EnemyStore store, int from, int to, float deltaTime) {
+        int[] flags = store.flags;
+        float[] y = store.y;
+        float[] velocityY = store.velocityY;
+        for (int i = from; i < to; i++) {
+            if ((flags[i] & EnemyStore.FROZEN) != 0) continue;
+
+            boolean zombie = store.type[i] == EnemyStore.ZOMBIE;
+            velocityY[i] += (zombie ? ZOMBIE_GRAVITY : BAT_GRAVITY) * deltaTime;
+            if (y[i] < 0.f) {
+                // Land on the ground, zombies below the floor jump back up
+                y[i] = 0.f;
+                velocityY[i] = zombie ? ZOMBIE_JUMP_SPEED : 0;
+                if ((flags[i] & EnemyStore.ATTACKING) == 0) {
+                    store.state[i] = 0; // IDLE / IDLE1
+                }
+            }
+        }
+    }
+
+    private void moveTowardsCharacter(EnemyStore store, int from, int to, float deltaTime, IntArray events) {
+        int[] flags = store.flags;
+        float[] x = store.x;
+        float[] y = store.y;
+        float[] velocityX = store.velocityX;
+        float[] velocityY = store.velocityY;
+        for (int i = from; i < to; i++) {
+            if ((flags[i] & (EnemyStore.FROZEN | EnemyStore.HIT | EnemyStore.DEAD)) != 0) continue;
+
+            boolean zombie = store.type[i] == EnemyStore.ZOMBIE;
+            float dx = characterX - x[i];
+            float dy = characterY - y[i];
+            float distance = (float) Math.sqrt(dx * dx + dy * dy);
+
+            // Stop and attack when in range
+            if (distance <= (zombie ? ZOMBIE_ATTACK_RANGE : BAT_ATTACK_RANGE)) {
+                if ((flags[i] & EnemyStore.ATTACKING) == 0) {
+                    flags[i] |= EnemyStore.ATTACKING;
+                    store.stateTime[i] = 0f;
+                    store.state[i] = zombie ? ZombieAnimationType.ATTACK.ordinal() : BatAnimationType.GRAB.ordinal();
+                    events.add(i);
+                    events.add(ATTACK_STARTED);
+                }
+                continue;
+            }
+
+            if (zombie) {
+                // Zombies walk horizontally and fall with their own vertical velocity
+                velocityX[i] = dx > 0 ? ZOMBIE_MOVE_SPEED : -ZOMBIE_MOVE_SPEED;
+                flags[i] = dx > 0 ? flags[i] | EnemyStore.FACING_RIGHT : flags[i] & ~EnemyStore.FACING_RIGHT;
+            } else {
+                // Bats fly straight at the character, their sheet faces the other way
+                velocityX[i] = distance > 0 ? dx / distance * BAT_MOVE_SPEED : 0;
+                velocityY[i] = distance > 0 ? dy / distance * BAT_MOVE_SPEED : 0;
+                flags[i] = dx > 0 ? flags[i] & ~EnemyStore.FACING_RIGHT : flags[i] | EnemyStore.FACING_RIGHT;
+            }
+            x[i] += velocityX[i] * deltaTime;
+            y[i] += velocityY[i] * deltaTime;
+        }
+    }
+
+    // Every frame of a sheet has the same size, so the bounds only depend on the type and facing
+    public void updateBounds(EnemyStore store) {
+        updateBounds(store, 0, store.size);
+        rebuildGrid(store);
+    }
+
+    private void rebuildGrid(EnemyStore store) {
+        enemyGrid.clear();
+        maxVerticalSpeed = 0;
+        maxBoundsHeight = 0;
+        for (int i = 0; i < store.size; i++) {
+            enemyGrid.add(i, store.boundsX[i], store.boundsY[i], store.boundsWidth[i], store.boundsHeight[i]);
+            maxVerticalSpeed = Math.max(maxVerticalSpeed, Math.abs(store.velocityY[i]));
+            maxBoundsHeight = Math.max(maxBoundsHeight, store.boundsHeight[i]);
+        }
+        enemyGrid.build();
+    }
+
+    // Highest speed along either axis any enemy can reach within the given time: walking, flying and jumping have
+    // fixed speeds, falls get faster the longer they last
+    public float getTopSpeed(float withinSeconds) {
+        float fixedSpeed = Math.max(Math.max(ZOMBIE_MOVE_SPEED, BAT_MOVE_SPEED), ZOMBIE_JUMP_SPEED);
+        return Math.max(fixedSpeed, maxVerticalSpeed) - Math.min(ZOMBIE_GRAVITY, BAT_GRAVITY) * withinSeconds;
+    }
+
+    // Landing on a platform moves an enemy up by at most half its height in one tick
+    public float getMaxLandingSnap() {
+        return maxBoundsHeight / 2;
+    }
+
+    // Enemy bounds as of the end of the last update() or updateBounds(), ids are slots of the store
+    public DynamicGrid getEnemyGrid() {
+        return enemyGrid;
+    }
+
+    private void updateBounds(EnemyStore store, int from, int to) {
+        float zombieWidth = zombieAnimations.getFrameWidth() * SCALE - 150;
+        float zombieHeight = zombieAnimations.getFrameHeight() * SCALE - 100;
+        float batWidth = batAnimations.getFrameWidth() * SCALE;
+        float batHeight = batAnimations.getFrameHeight() * SCALE;
+        for (int i = from; i < to; i++) {
+            if (store.type[i] == EnemyStore.ZOMBIE) {
+                boolean facingRight = (store.flags[i] & EnemyStore.FACING_RIGHT) != 0;
+                store.boundsX[i] = store.x[i] + (facingRight ? 100 : 50);
+                store.boundsWidth[i] = zombieWidth;
+                store.boundsHeight[i] = zombieHeight;
+            } else {
+                store.boundsX[i] = store.x[i];
+                store.boundsWidth[i] = batWidth;
+                store.boundsHeight[i] = batHeight;
+            }
+            store.boundsY[i] = store.y[i];
+        }
+    }
+
+    private void resolveCollisions(EnemyStore store, int from, int to, Chunk chunk) {
+        for (int i = from; i < to; i++) {
+            if ((store.flags[i] & EnemyStore.FROZEN) != 0) continue;
+
+            landOnRectangles(store, i, platforms);
+            collisionGrid.queryColliders(store.getBounds(i, chunk.queryArea), chunk.nearbyColliders);
+            landOnRectangles(store, i, chunk.nearbyColliders);
+        }
+    }
+
+    private static void landOnRectangles(EnemyStore store, int i, List<Rectangle> rectangles) {
+        for (int r = 0, n = rectangles.size(); r < n; r++) {
+            Rectangle rectangle = rectangles.get(r);
+            if (store.overlaps(i, rectangle)) {
+                float top = rectangle.y + rectangle.height;
+                if (store.velocityY[i] < 0 && store.y[i] + store.boundsHeight[i] / 2 >= top) {
+                    store.y[i] = top;
+                    store.boundsY[i] = top;
+                    store.velocityY[i] = 0;
+                }
+            }
+        }
+    }
+
+    private void updateAnimationStates(EnemyStore store, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if ((store.flags[i] & EnemyStore.FROZEN) != 0) continue;
+
+            if (store.type[i] == EnemyStore.ZOMBIE) {
+                updateZombieState(store, i);
+            } else {
+                updateBatState(store, i);
+            }
+            // Horizontal movement is set again every tick
+            store.velocityX[i] = 0;
+        }
+    }
+
+    private void updateZombieState(EnemyStore store, int i) {
+        int flags = store.flags[i];
+        if ((flags & EnemyStore.DEAD) != 0) {
+            store.state[i] = ZombieAnimationType.DEATH.ordinal();
+            if (zombieAnimations.getAnimation(ZombieAnimationType.DEATH).isAnimationFinished(store.stateTime[i])) {
+                store.flags[i] |= EnemyStore.DISPOSABLE;
+            }
+            return;
+        }
+        if ((flags & EnemyStore.HIT) != 0) {
+            store.state[i] = ZombieAnimationType.HIT.ordinal();
+            if (!zombieAnimations.getAnimation(ZombieAnimationType.HIT).isAnimationFinished(store.stateTime[i])) return;
+            store.stateTime[i] = 0f;
+            flags &= ~EnemyStore.HIT;
+        }
+        if ((flags & EnemyStore.ATTACKING) != 0
+            && zombieAnimations.getAnimation(ZOMBIE_STATES[store.state[i]]).isAnimationFinished(store.stateTime[i])) {
+            flags &= ~EnemyStore.ATTACKING;
+            store.stateTime[i] = 0f;
+        }
+        store.flags[i] = flags;
+
+        boolean attacking = (flags & EnemyStore.ATTACKING) != 0;
+        if (store.velocityX[i] != 0) {
+            store.state[i] = (attacking ? ZombieAnimationType.WALK_ATTACK : ZombieAnimationType.WALK).ordinal();
+        } else {
+            store.state[i] = (attacking ? ZombieAnimationType.ATTACK : ZombieAnimationType.IDLE).ordinal();
+        }
+    }
+
+    private void updateBatState(EnemyStore store, int i) {
+        int flags = store.flags[i];
+        if ((flags & EnemyStore.DEAD) != 0) {
+            store.state[i] = BatAnimationType.DEATH2.ordinal();
+            if (batAnimations.getAnimation(BatAnimationType.DEATH2).isAnimationFinished(store.stateTime[i])) {
+                store.flags[i] |= EnemyStore.DISPOSABLE;
+            }
+            return;
+        }
+        if ((flags & EnemyStore.HIT) != 0) {
+            store.state[i] = BatAnimationType.HIT.ordinal();
+            if (!batAnimations.getAnimation(BatAnimationType.HIT).isAnimationFinished(store.stateTime[i])) return;
+            store.stateTime[i] = 0f;
+            flags &= ~EnemyStore.HIT;
+        }
+        if ((flags & EnemyStore.ATTACKING) != 0) {
+            if (batAnimations.getAnimation(BAT_STATES[store.state[i]]).isAnimationFinished(store.stateTime[i])) {
+                flags &= ~EnemyStore.ATTACKING;
+                store.stateTime[i] = 0f;
+            }
+        } else if (store.velocityY[i] != 0) {
+            store.state[i] = BatAnimationType.MOVE2.ordinal();
+        } else if (store.velocityX[i] != 0) {
+            store.state[i] = BatAnimationType.MOVE1.ordinal();
+        } else {
+            store.state[i] = BatAnimationType.IDLE1.ordinal();
+        }
+        store.flags[i] = flags;
+    }
+
+    // Only records the contacts, which enemy gets a bullet that touches several is decided in applyEvents().
+    // Sleeping enemies are checked too, bullets can fly further than the sleep radius.
+    private void findBulletContacts(EnemyStore store, int from, int to, Chunk chunk) {
+        IntArray contacts = chunk.bulletContacts;
+        for (int i = from; i < to; i++) {
+            if ((store.flags[i] & EnemyStore.DEAD) != 0) continue;
+
+            bulletGrid.queryRegion(store.getBounds(i, chunk.queryArea), contacts);
+            contacts.sort(); // Bullet order, like a scan of the bullet list
+            for (int c = 0; c < contacts.size; c++) {
+                if (bullets.get(contacts.get(c)).isActive()) {
+                    chunk.events.add(i);
+                    chunk.events.add(contacts.get(c));
+                }
+            }
+        }
+    }
+
+    // Events are (enemy, code) pairs. The first enemy in store order takes a bullet, a dead enemy takes no more.
+    private void applyEvents(EnemyStore store, IntArray events, EntityContainer<Bullet> bullets) {
+        for (int e = 0; e < events.size; e += 2) {
+            int i = events.get(e);
+            int code = events.get(e + 1);
+            if (code == ATTACK_STARTED) {
+                Sound attackSound = store.type[i] == EnemyStore.ZOMBIE ? zombieAttackSound : batAttackSound;
+                soundMixer.play(attackSound, getCenterX(store, i), getCenterY(store, i), SoundMixer.PRIORITY_LOW);
+                continue;
+            }
+
+            Bullet bullet = bullets.get(code);
+            if (bullet.isActive() && (store.flags[i] & EnemyStore.DEAD) == 0) {
+                bullet.deactivate();
+                hitEnemy(store, i, bullet);
+            }
+        }
+    }
+
+    private void hitEnemy(EnemyStore store, int i, Bullet bullet) {
+        Vector2 impact = bullet.getPosition();
+        particleSystem.spawn(EffectType.ENEMY_BLOOD, impact.x, impact.y, bullet.getDirectionX());
+        particleSystem.spawn(EffectType.BLOOD_DROPS, impact.x, impact.y, bullet.getDirectionX());
+        soundMixer.play(hitSound, getCenterX(store, i), getCenterY(store, i), SoundMixer.PRIORITY_NORMAL);
+        store.stateTime[i] = 0f;
+
+        store.health[i] -= BULLET_DAMAGE;
+        if (store.health[i] <= 0) {
+            store.health[i] = 0;
+            store.flags[i] = (store.flags[i] | EnemyStore.DEAD) & ~EnemyStore.HIT;
+            store.state[i] = store.type[i] == EnemyStore.ZOMBIE ? ZombieAnimationType.DEATH.ordinal() : BatAnimationType.DEATH2.ordinal();
+        } else {
+            store.flags[i] |= EnemyStore.HIT;
+        }
+    }
+
+    // Walks backwards, so the enemy moved into a freed slot has already been visited
+    private static void removeDisposable(EnemyStore store) {
+        for (int i = store.size - 1; i >= 0; i--) {
+            if ((store.flags[i] & EnemyStore.DISPOSABLE) != 0) {
+                store.remove(i);
+            }
+        }
+    }
+
+    public void render(EnemyStore store, RenderQueue renderQueue, float alpha, Rectangle visibleArea) {
+        for (int i = 0; i < store.size; i++) {
+            if (!store.overlaps(i, visibleArea)) continue;
+
+            float x = store.previousX[i] + (store.x[i] - store.previousX[i]) * alpha;
+            float y = store.previousY[i] + (store.y[i] - store.previousY[i]) * alpha;
+            boolean facingRight = (store.flags[i] & EnemyStore.FACING_RIGHT) != 0;
+            float color = (store.flags[i] & EnemyStore.HIT) != 0 ? HIT_COLOR : Color.WHITE_FLOAT_BITS;
+
+            if (store.type[i] == EnemyStore.ZOMBIE) {
+                TextureRegion frame = zombieAnimations.getFrame(ZOMBIE_STATES[store.state[i]], store.stateTime[i], true, facingRight);
+                renderQueue.submit(frame, x, y, zombieAnimations.getFrameWidth() * SCALE, zombieAnimations.getFrameHeight() * SCALE,
+                    RenderQueue.LAYER_ENEMIES, ZOMBIE_RENDER_DEPTH, color);
+            } else {
+                TextureRegion frame = batAnimations.getFrame(BAT_STATES[store.state[i]], store.stateTime[i], true, facingRight);
+                renderQueue.submit(frame, x, y, batAnimations.getFrameWidth() * SCALE, batAnimations.getFrameHeight() * SCALE,
+                    RenderQueue.LAYER_ENEMIES, BAT_RENDER_DEPTH, color);
+            }
+        }
+    }
+
+    // Scratch objects and the event buffer of one range of enemies
+    private final class Chunk extends RecursiveAction {
+        final List<Rectangle> nearbyColliders = new ArrayList<>();
+        final Rectangle queryArea = new Rectangle();
+        final IntArray bulletContacts = new IntArray();
+        final IntArray events = new IntArray();
+        int from;
+        int to;
+
+        @Override
+        protected void compute() {
+            simulate(this);
+        }
+    }
+
+    private final class ParallelPhase extends RecursiveAction {
+        @Override
+        protected void compute() {
+            invokeAll(scheduledChunks);
+        }
+    }
+
+    private static float getCenterX(EnemyStore store, int i) {
+        return store.boundsX[i] + store.boundsWidth[i] / 2;
+    }
+
+    private static float getCenterY(EnemyStore store, int i) {
+        return store.boundsY[i] + store.boundsHeight[i] / 2;
+    }
+
+    @Override
+    public void dispose() {
+        setParallel(false);
+        // The animation sets belong to the AnimationRegistry, the sounds are shared through the SoundBank
+        soundMixer.getSoundBank().release(ZOMBIE_ATTACK_SOUND);
+        soundMixer.getSoundBank().release(BAT_ATTACK_SOUND);
+        soundMixer.getSoundBank().release(HIT_SOUND);
+    }
+}
@@ -0,0 +1,287 @@
+package krazy.cat.games;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Bakes the tile layers into SpriteCaches once at load time, split into square chunks of tiles.
+// Every frame only the chunks intersecting the camera are drawn; the vertices are never rebuilt.
+// Tiles are baked as they are at load time, animated tiles would stay on their first frame.
+public class ChunkedMapRenderer implements Disposable {
+    private static final int CHUNK_SIZE = 16; // Tiles per chunk side
+    private static final int MAX_TILES_PER_CACHE = 8191; // Limit of an indexed SpriteCache
+    private static final int VERTEX_SIZE = 5; // x, y, color, u, v
+    private static final int TILE_SIZE = VERTEX_SIZE * 4;
+
+    private final float unitScale;
+    private final List<TiledMapTileLayer> layers = new ArrayList<>();
+    private final List<SpriteCache> caches = new ArrayList<>();
+    private final float[] vertices = new float[TILE_SIZE];
+    private final float[] cornerU = new float[4];
+    private final float[] cornerV = new float[4];
+
+    private int chunksX;
+    private int chunksY;
+    private float chunkWorldWidth;
+    private float chunkWorldHeight;
+    private int[] chunkCacheIndices; // Index into caches per chunk (x + y * chunksX), -1 for empty chunks
+    private int[] chunkCacheIds; // Cache id inside of that SpriteCache
+
+    // Visible chunk range, set by setView()
+    private int minChunkX, minChunkY, maxChunkX, maxChunkY;
+
+    // Layers that are hidden in Tiled or listed in excludedLayers are not baked
+    public ChunkedMapRenderer(TiledMap map, float unitScale, String... excludedLayers) {
+        this.unitScale = unitScale;
+
+        List<String> excluded = Arrays.asList(excludedLayers);
+        for (MapLayer layer : map.getLayers()) {
+            if (layer instanceof TiledMapTileLayer && layer.isVisible() && !excluded.contains(layer.getName())) {
+                layers.add((TiledMapTileLayer) layer);
+            }
+        }
+
+        if (layers.isEmpty()) {
+            Gdx.app.log("ChunkedMapRenderer", "No visible tile layers to render");
+            chunkCacheIndices = new int[0];
+            chunkCacheIds = new int[0];
+            return;
+        }
+        buildChunks();
+    }
+
+    private void buildChunks() {
+        TiledMapTileLayer baseLayer = layers.get(0);
+        int width = baseLayer.getWidth();
+        int height = baseLayer.getHeight();
+        chunksX = (width + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        chunksY = (height + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        chunkWorldWidth = CHUNK_SIZE * baseLayer.getTileWidth() * unitScale;
+        chunkWorldHeight = CHUNK_SIZE * baseLayer.getTileHeight() * unitScale;
+
+        int chunkCount = chunksX * chunksY;
+        chunkCacheIndices = new int[chunkCount];
+        chunkCacheIds = new int[chunkCount];
+        Arrays.fill(chunkCacheIndices, -1);
+
+        // First pass: count the tiles per chunk so every SpriteCache is allocated with its exact size
+        int[] tileCounts = new int[chunkCount];
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            tileCounts[chunk] = countTiles(chunk % chunksX, chunk / chunksX);
+        }
+
+        // Second pass: fill consecutive chunks into the same cache until it is full
+        int chunk = 0;
+        while (chunk < chunkCount) {
+            int firstChunk = chunk;
+            int tilesInCache = 0;
+            while (chunk < chunkCount && tilesInCache + tileCounts[chunk] <= MAX_TILES_PER_CACHE) {
+                tilesInCache += tileCounts[chunk];
+                chunk++;
+            }
+            if (chunk == firstChunk) {
+                Gdx.app.error("ChunkedMapRenderer", "Chunk " + chunk + " has more tiles than fit into one cache, skipping it");
+                chunk++;
+                continue;
+            }
+            if (tilesInCache == 0) continue;
+
+            SpriteCache cache = new SpriteCache(tilesInCache, true);
+            int cacheIndex = caches.size();
+            caches.add(cache);
+            for (int c = firstChunk; c < chunk; c++) {
+                if (tileCounts[c] == 0) continue;
+                cache.beginCache();
+                addChunkTiles(cache, c % chunksX, c / chunksX);
+                chunkCacheIds[c] = cache.endCache();
+                chunkCacheIndices[c] = cacheIndex;
+            }
+        }
+        Gdx.app.log("ChunkedMapRenderer", "Baked " + layers.size() + " layers into " + chunkCount + " chunks and " + caches.size() + " caches");
+    }
+
+    private int countTiles(int chunkX, int chunkY) {
+        int count = 0;
+        for (TiledMapTileLayer layer : layers) {
+            int endX = Math.min(layer.getWidth(), (chunkX + 1) * CHUNK_SIZE);
+            int endY = Math.min(layer.getHeight(), (chunkY + 1) * CHUNK_SIZE);
+            for (int y = chunkY * CHUNK_SIZE; y < endY; y++) {
+                for (int x = chunkX * CHUNK_SIZE; x < endX; x++) {
+                    TiledMapTileLayer.Cell cell = layer.getCell(x, y);
+                    if (cell != null && cell.getTile() != null) count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    // Layers are added in map order, so tiles of upper layers are drawn on top within a chunk
+    private void addChunkTiles(SpriteCache cache, int chunkX, int chunkY) {
+        for (TiledMapTileLayer layer : layers) {
+            float color = Color.toFloatBits(1f, 1f, 1f, layer.getOpacity());
+            float tileWidth = layer.getTileWidth() * unitScale;
+            float tileHeight = layer.getTileHeight() * unitScale;
+            int endX = Math.min(layer.getWidth(), (chunkX + 1) * CHUNK_SIZE);
+            int endY = Math.min(layer.getHeight(), (chunkY + 1) * CHUNK_SIZE);
+
+            for (int y = chunkY * CHUNK_SIZE; y < endY; y++) {
+                for (int x = chunkX * CHUNK_SIZE; x < endX; x++) {
+                    TiledMapTileLayer.Cell cell = layer.getCell(x, y);
+                    if (cell == null || cell.getTile() == null) continue;
+
+                    buildTileVertices(cell, x * tileWidth, y * tileHeight, color);
+                    cache.add(cell.getTile().getTextureRegion().getTexture(), vertices, 0, TILE_SIZE);
+                }
+            }
+        }
+    }
+
+    // Same corner order, flipping and rotation handling as the OrthogonalTiledMapRenderer
+    private void buildTileVertices(TiledMapTileLayer.Cell cell, float x, float y, float color) {
+        TiledMapTile tile = cell.getTile();
+        TextureRegion region = tile.getTextureRegion();
+
+        float x1 = x + tile.getOffsetX() * unitScale;
+        float y1 = y + tile.getOffsetY() * unitScale;
+        float x2 = x1 + region.getRegionWidth() * unitScale;
+        float y2 = y1 + region.getRegionHeight() * unitScale;
+
+        float[] u = cornerU;
+        float[] v = cornerV;
+        u[0] = region.getU();
+        u[1] = region.getU();
+        u[2] = region.getU2();
+        u[3] = region.getU2();
+        v[0] = region.getV2();
+        v[1] = region.getV();
+        v[2] = region.getV();
+        v[3] = region.getV2();
+
+        if (cell.getFlipHorizontally()) {
+            swap(u, 0, 2);
+            swap(u, 1, 3);
+        }
+        if (cell.getFlipVertically()) {
+            swap(v, 0, 2);
+            swap(v, 1, 3);
+        }
+        switch (cell.getRotation()) {
+            case TiledMapTileLayer.Cell.ROTATE_90:
+                rotateLeft(u);
+                rotateLeft(v);
+                break;
+            case TiledMapTileLayer.Cell.ROTATE_180:
+                swap(u, 0, 2);
+                swap(u, 1, 3);
+                swap(v, 0, 2);
+                swap(v, 1, 3);
+                break;
+            case TiledMapTileLayer.Cell.ROTATE_270:
+                rotateRight(u);
+                rotateRight(v);
+                break;
+            default:
+                break;
+        }
+
+        setVertex(0, x1, y1, color, u[0], v[0]);
+        setVertex(1, x1, y2, color, u[1], v[1]);
+        setVertex(2, x2, y2, color, u[2], v[2]);
+        setVertex(3, x2, y1, color, u[3], v[3]);
+    }
+
+    private void setVertex(int corner, float x, float y, float color, float u, float v) {
+        int offset = corner * VERTEX_SIZE;
+        vertices[offset] = x;
+        vertices[offset + 1] = y;
+        vertices[offset + 2] = color;
+        vertices[offset + 3] = u;
+        vertices[offset + 4] = v;
+    }
+
+    private static void swap(float[] values, int a, int b) {
+        float temp = values[a];
+        values[a] = values[b];
+        values[b] = temp;
+    }
+
+    private static void rotateLeft(float[] values) {
+        float first = values[0];
+        values[0] = values[1];
+        values[1] = values[2];
+        values[2] = values[3];
+        values[3] = first;
+    }
+
+    private static void rotateRight(float[] values) {
+        float last = values[3];
+        values[3] = values[2];
+        values[2] = values[1];
+        values[1] = values[0];
+        values[0] = last;
+    }
+
+    public void setView(OrthographicCamera camera) {
+        for (SpriteCache cache : caches) {
+            cache.setProjectionMatrix(camera.combined);
+        }
+        if (chunksX == 0) return;
+
+        float viewWidth = camera.viewportWidth * camera.zoom;
+        float viewHeight = camera.viewportHeight * camera.zoom;
+        float left = camera.position.x - viewWidth / 2;
+        float bottom = camera.position.y - viewHeight / 2;
+
+        minChunkX = Math.max(0, (int) Math.floor(left / chunkWorldWidth));
+        minChunkY = Math.max(0, (int) Math.floor(bottom / chunkWorldHeight));
+        maxChunkX = Math.min(chunksX - 1, (int) Math.floor((left + viewWidth) / chunkWorldWidth));
+        maxChunkY = Math.min(chunksY - 1, (int) Math.floor((bottom + viewHeight) / chunkWorldHeight));
+    }
+
+    public void render() {
+        if (caches.isEmpty()) return;
+
+        // SpriteCache does not touch the blend state itself
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+
+        // Chunks are assigned to caches in row order, so the visible chunks of one cache are drawn in one begin/end
+        SpriteCache activeCache = null;
+        for (int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++) {
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                int chunk = chunkX + chunkY * chunksX;
+                int cacheIndex = chunkCacheIndices[chunk];
+                if (cacheIndex == -1) continue;
+
+                SpriteCache cache = caches.get(cacheIndex);
+                if (cache != activeCache) {
+                    if (activeCache != null) activeCache.end();
+                    cache.begin();
+                    activeCache = cache;
+                }
+                cache.draw(chunkCacheIds[chunk]);
+            }
+        }
+        if (activeCache != null) activeCache.end();
+    }
+
+    @Override
+    public void dispose() {
+        for (SpriteCache cache : caches) {
+            cache.dispose();
+        }
+        caches.clear();
+    }
+}
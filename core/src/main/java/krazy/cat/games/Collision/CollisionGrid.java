@@ -0,0 +1,204 @@
+package krazy.cat.games.Collision;
+
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.math.Rectangle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Cell indexed view of the "Collision" tile layer.
+// Adjacent solid cells are merged into larger collider rectangles at load time and every solid cell points to the
+// collider covering it, so an entity only has to look at the cells its bounding box touches instead of scanning
+// every collider of the map.
+public class CollisionGrid {
+    private static final int EMPTY = -1;
+
+    private final int width;
+    private final int height;
+    private final float cellWidth;
+    private final float cellHeight;
+    private final int[] colliderIndices; // collider index per cell (x + y * width), EMPTY if the cell is not solid
+    private final List<Rectangle> colliders = new ArrayList<>();
+
+    private CollisionGrid(int width, int height, float cellWidth, float cellHeight) {
+        this.width = width;
+        this.height = height;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        colliderIndices = new int[width * height];
+        Arrays.fill(colliderIndices, EMPTY);
+    }
+
+    public static CollisionGrid empty() {
+        return new CollisionGrid(0, 0, 1, 1);
+    }
+
+    public static CollisionGrid fromTileLayer(TiledMapTileLayer tileLayer, float scale) {
+        CollisionGrid grid = new CollisionGrid(
+            tileLayer.getWidth(),
+            tileLayer.getHeight(),
+            tileLayer.getTileWidth() * scale,
+            tileLayer.getTileHeight() * scale
+        );
+
+        boolean[] solid = new boolean[grid.width * grid.height];
+        for (int x = 0; x < grid.width; x++) {
+            for (int y = 0; y < grid.height; y++) {
+                TiledMapTileLayer.Cell cell = tileLayer.getCell(x, y);
+                solid[x + y * grid.width] = cell != null && cell.getTile() != null;
+            }
+        }
+        grid.mergeSolidCells(solid);
+        return grid;
+    }
+
+    // Greedy merge: grow each unassigned solid cell into its maximal horizontal run, then stack that run upwards
+    // as long as the complete row segment above is solid as well. A flat floor ends up as a single rectangle.
+    private void mergeSolidCells(boolean[] solid) {
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (!isUnassignedSolid(solid, x, y)) continue;
+
+                int runEndX = x + 1;
+                while (runEndX < width && isUnassignedSolid(solid, runEndX, y)) {
+                    runEndX++;
+                }
+
+                int runEndY = y + 1;
+                while (runEndY < height && isRowSegmentUnassignedSolid(solid, x, runEndX, runEndY)) {
+                    runEndY++;
+                }
+
+                int colliderIndex = colliders.size();
+                for (int cellY = y; cellY < runEndY; cellY++) {
+                    for (int cellX = x; cellX < runEndX; cellX++) {
+                        colliderIndices[cellX + cellY * width] = colliderIndex;
+                    }
+                }
+                colliders.add(new Rectangle(x * cellWidth, y * cellHeight, (runEndX - x) * cellWidth, (runEndY - y) * cellHeight));
+
+                x = runEndX - 1;
+            }
+        }
+    }
+
+    private boolean isUnassignedSolid(boolean[] solid, int x, int y) {
+        int index = x + y * width;
+        return solid[index] && colliderIndices[index] == EMPTY;
+    }
+
+    private boolean isRowSegmentUnassignedSolid(boolean[] solid, int startX, int endX, int y) {
+        for (int x = startX; x < endX; x++) {
+            if (!isUnassignedSolid(solid, x, y)) return false;
+        }
+        return true;
+    }
+
+    public boolean isSolid(int cellX, int cellY) {
+        if (cellX < 0 || cellY < 0 || cellX >= width || cellY >= height) return false;
+        return colliderIndices[cellX + cellY * width] != EMPTY;
+    }
+
+    public boolean isSolidAt(float worldX, float worldY) {
+        return isSolid(getCellX(worldX), getCellY(worldY));
+    }
+
+    public int getCellX(float worldX) {
+        return (int) Math.floor(worldX / cellWidth);
+    }
+
+    public int getCellY(float worldY) {
+        return (int) Math.floor(worldY / cellHeight);
+    }
+
+    // Collects the distinct colliders touching the cells covered by the given area into "out" (cleared first).
+    public void queryColliders(Rectangle area, List<Rectangle> out) {
+        out.clear();
+        if (width == 0 || height == 0) return;
+
+        int minX = Math.max(0, getCellX(area.x));
+        int minY = Math.max(0, getCellY(area.y));
+        int maxX = Math.min(width - 1, getCellX(area.x + area.width));
+        int maxY = Math.min(height - 1, getCellY(area.y + area.height));
+
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                int colliderIndex = colliderIndices[x + y * width];
+                if (colliderIndex != EMPTY) {
+                    addDistinct(out, colliders.get(colliderIndex));
+                }
+            }
+        }
+    }
+
+    // Walks the cells crossed by the segment from (x1, y1) to (x2, y2) in order (Amanatides & Woo) and returns the
+    // fraction of the segment at which it enters the first solid cell, 0 if it starts in one, -1 if it stays clear.
+    // The cost grows with the number of crossed cells, not with the size of the map.
+    public float raycast(float x1, float y1, float x2, float y2) {
+        if (width == 0 || height == 0) return -1;
+
+        float dx = x2 - x1;
+        float dy = y2 - y1;
+        int cellX = getCellX(x1);
+        int cellY = getCellY(y1);
+        int endCellX = getCellX(x2);
+        int endCellY = getCellY(y2);
+        int stepX = dx > 0 ? 1 : (dx < 0 ? -1 : 0);
+        int stepY = dy > 0 ? 1 : (dy < 0 ? -1 : 0);
+
+        // Fraction of the segment at which the next vertical / horizontal cell border is crossed, and per cell
+        float nextX = stepX > 0 ? ((cellX + 1) * cellWidth - x1) / dx : (stepX < 0 ? (cellX * cellWidth - x1) / dx : Float.MAX_VALUE);
+        float nextY = stepY > 0 ? ((cellY + 1) * cellHeight - y1) / dy : (stepY < 0 ? (cellY * cellHeight - y1) / dy : Float.MAX_VALUE);
+        float deltaX = stepX != 0 ? cellWidth / Math.abs(dx) : Float.MAX_VALUE;
+        float deltaY = stepY != 0 ? cellHeight / Math.abs(dy) : Float.MAX_VALUE;
+
+        float fraction = 0;
+        while (true) {
+            if (isSolid(cellX, cellY)) return fraction;
+            if (cellX == endCellX && cellY == endCellY) return -1;
+            // Outside of the grid nothing is solid, a segment moving away from it will not find anything
+            if ((cellX < 0 && stepX <= 0) || (cellX >= width && stepX >= 0)
+                || (cellY < 0 && stepY <= 0) || (cellY >= height && stepY >= 0)) return -1;
+
+            if (nextX < nextY) {
+                fraction = nextX;
+                nextX += deltaX;
+                cellX += stepX;
+            } else {
+                fraction = nextY;
+                nextY += deltaY;
+                cellY += stepY;
+            }
+            if (fraction > 1) return -1;
+        }
+    }
+
+    // Merged colliders are large, so a query rarely returns more than a handful of them
+    private static void addDistinct(List<Rectangle> out, Rectangle collider) {
+        for (int i = 0; i < out.size(); i++) {
+            if (out.get(i) == collider) return;
+        }
+        out.add(collider);
+    }
+
+    public List<Rectangle> getColliders() {
+        return colliders;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public float getCellWidth() {
+        return cellWidth;
+    }
+
+    public float getCellHeight() {
+        return cellHeight;
+    }
+}
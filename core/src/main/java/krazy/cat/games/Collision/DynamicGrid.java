@@ -0,0 +1,197 @@
+package krazy.cat.games.Collision;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+// Broad phase for things that move every tick (enemies, bullets), the dynamic counterpart of the CollisionGrid.
+// Entries are ids with a bounding box; the grid is rebuilt from scratch whenever they moved: clear(), add() every
+// entry, build(). The build is a counting sort into one flat array, so nothing is allocated once the buffers have
+// grown. Boxes outside of the bounds are clamped into the border cells, which keeps the results correct.
+//
+// An entry spanning several cells is stored in each of them. Queries only report it from the cell that contains
+// the lower left corner of the intersection, so every id is reported once without a visited set, and queries do
+// not write to the grid: several threads may query at the same time.
+public class DynamicGrid {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final float cellSize;
+    private int cellsX = 1;
+    private int cellsY = 1;
+    private int[] cellStarts = new int[2]; // Entries of cell c are cellEntries[cellStarts[c]] until cellStarts[c + 1]
+    private int[] cellEntries = new int[INITIAL_CAPACITY];
+
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private float[] minX = new float[INITIAL_CAPACITY];
+    private float[] minY = new float[INITIAL_CAPACITY];
+    private float[] maxX = new float[INITIAL_CAPACITY];
+    private float[] maxY = new float[INITIAL_CAPACITY];
+    private int size = 0;
+
+    public interface OverlapListener {
+        void overlaps(int id);
+    }
+
+    public DynamicGrid(float cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    // Area covered by cells, starting at the origin
+    public void setBounds(float width, float height) {
+        cellsX = Math.max(1, (int) Math.ceil(width / cellSize));
+        cellsY = Math.max(1, (int) Math.ceil(height / cellSize));
+        cellStarts = new int[cellsX * cellsY + 1];
+        clear();
+    }
+
+    public void clear() {
+        size = 0;
+        Arrays.fill(cellStarts, 0);
+    }
+
+    public void add(int id, Rectangle bounds) {
+        add(id, bounds.x, bounds.y, bounds.width, bounds.height);
+    }
+
+    public void add(int id, float x, float y, float width, float height) {
+        if (size == ids.length) {
+            grow();
+        }
+        ids[size] = id;
+        minX[size] = x;
+        minY[size] = y;
+        maxX[size] = x + width;
+        maxY[size] = y + height;
+        size++;
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        minX = Arrays.copyOf(minX, capacity);
+        minY = Arrays.copyOf(minY, capacity);
+        maxX = Arrays.copyOf(maxX, capacity);
+        maxY = Arrays.copyOf(maxY, capacity);
+    }
+
+    // Sorts the added entries into their cells, queries only see entries added before the last build()
+    public void build() {
+        Arrays.fill(cellStarts, 0);
+
+        // Count the entries per cell, shifted by one so the prefix sum below turns the counts into start offsets
+        int total = 0;
+        for (int e = 0; e < size; e++) {
+            int x1 = getCellX(minX[e]), x2 = getCellX(maxX[e]);
+            int y1 = getCellY(minY[e]), y2 = getCellY(maxY[e]);
+            for (int y = y1; y <= y2; y++) {
+                for (int x = x1; x <= x2; x++) {
+                    cellStarts[x + y * cellsX + 1]++;
+                }
+            }
+            total += (x2 - x1 + 1) * (y2 - y1 + 1);
+        }
+        for (int c = 1; c < cellStarts.length; c++) {
+            cellStarts[c] += cellStarts[c - 1];
+        }
+        if (cellEntries.length < total) {
+            cellEntries = new int[Math.max(total, cellEntries.length * 2)];
+        }
+
+        // Fill every cell back to front using cellStarts[c + 1] (the end of cell c) as its cursor, which keeps the
+        // entries of a cell in the order they were added
+        for (int e = size - 1; e >= 0; e--) {
+            int x1 = getCellX(minX[e]), x2 = getCellX(maxX[e]);
+            int y1 = getCellY(minY[e]), y2 = getCellY(maxY[e]);
+            for (int y = y1; y <= y2; y++) {
+                for (int x = x1; x <= x2; x++) {
+                    cellEntries[--cellStarts[x + y * cellsX + 1]] = e;
+                }
+            }
+        }
+        // Each cursor ended at the start of its cell, shift them into place
+        System.arraycopy(cellStarts, 1, cellStarts, 0, cellStarts.length - 1);
+        cellStarts[cellStarts.length - 1] = total;
+    }
+
+    // Ids of all entries overlapping the area (same test as Rectangle.overlaps), in no particular order
+    public void queryRegion(Rectangle area, IntArray out) {
+        out.clear();
+        float areaMaxX = area.x + area.width;
+        float areaMaxY = area.y + area.height;
+        int x1 = getCellX(area.x), x2 = getCellX(areaMaxX);
+        int y1 = getCellY(area.y), y2 = getCellY(areaMaxY);
+        for (int y = y1; y <= y2; y++) {
+            for (int x = x1; x <= x2; x++) {
+                int cell = x + y * cellsX;
+                for (int i = cellStarts[cell], end = cellStarts[cell + 1]; i < end; i++) {
+                    int e = cellEntries[i];
+                    if (overlaps(e, area.x, area.y, areaMaxX, areaMaxY) && isReportingCell(e, area, x, y)) {
+                        out.add(ids[e]);
+                    }
+                }
+            }
+        }
+    }
+
+    public void forEachOverlapping(Rectangle area, OverlapListener listener) {
+        float areaMaxX = area.x + area.width;
+        float areaMaxY = area.y + area.height;
+        int x1 = getCellX(area.x), x2 = getCellX(areaMaxX);
+        int y1 = getCellY(area.y), y2 = getCellY(areaMaxY);
+        for (int y = y1; y <= y2; y++) {
+            for (int x = x1; x <= x2; x++) {
+                int cell = x + y * cellsX;
+                for (int i = cellStarts[cell], end = cellStarts[cell + 1]; i < end; i++) {
+                    int e = cellEntries[i];
+                    if (overlaps(e, area.x, area.y, areaMaxX, areaMaxY) && isReportingCell(e, area, x, y)) {
+                        listener.overlaps(ids[e]);
+                    }
+                }
+            }
+        }
+    }
+
+    // Smallest separation between the box and any entry, measured as the larger of the gaps along x and y (0 when
+    // they overlap or touch). Entries further away than maxGap are not looked at, maxGap is returned then.
+    public float findNearestGap(Rectangle box, float maxGap) {
+        float boxMaxX = box.x + box.width;
+        float boxMaxY = box.y + box.height;
+        int x1 = getCellX(box.x - maxGap), x2 = getCellX(boxMaxX + maxGap);
+        int y1 = getCellY(box.y - maxGap), y2 = getCellY(boxMaxY + maxGap);
+        float nearest = maxGap;
+        for (int y = y1; y <= y2; y++) {
+            for (int x = x1; x <= x2; x++) {
+                int cell = x + y * cellsX;
+                for (int i = cellStarts[cell], end = cellStarts[cell + 1]; i < end; i++) {
+                    int e = cellEntries[i];
+                    float gapX = Math.max(minX[e] - boxMaxX, box.x - maxX[e]);
+                    float gapY = Math.max(minY[e] - boxMaxY, box.y - maxY[e]);
+                    nearest = Math.min(nearest, Math.max(0, Math.max(gapX, gapY)));
+                }
+            }
+        }
+        return nearest;
+    }
+
+    private boolean overlaps(int e, float areaMinX, float areaMinY, float areaMaxX, float areaMaxY) {
+        return minX[e] < areaMaxX && maxX[e] > areaMinX && minY[e] < areaMaxY && maxY[e] > areaMinY;
+    }
+
+    // The lower left corner of the intersection lies in exactly one cell that both the entry and the area cover
+    private boolean isReportingCell(int e, Rectangle area, int cellX, int cellY) {
+        return getCellX(Math.max(minX[e], area.x)) == cellX && getCellY(Math.max(minY[e], area.y)) == cellY;
+    }
+
+    private int getCellX(float worldX) {
+        return Math.max(0, Math.min(cellsX - 1, (int) Math.floor(worldX / cellSize)));
+    }
+
+    private int getCellY(float worldY) {
+        return Math.max(0, Math.min(cellsY - 1, (int) Math.floor(worldY / cellSize)));
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,154 @@
+package krazy.cat.games;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.glutils.ImmediateModeRenderer20;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.List;
+
+import krazy.cat.games.Characters.CharacterManager;
+import krazy.cat.games.Characters.EnemyStore;
+
+// Draws the collision shapes on top of the scene.
+// Static geometry (tile colliders and platforms) never changes after loading, so it is uploaded into one static mesh
+// once and drawn with a single call per category. The entity boxes move every frame and go through one batched
+// ShapeRenderer pass.
+public class DebugOverlay implements Disposable {
+    private static final int VERTEX_SIZE = 3; // x, y, packed color
+    private static final int LINE_VERTICES_PER_RECTANGLE = 8;
+    private static final int TRIANGLE_VERTICES_PER_RECTANGLE = 6;
+
+    public boolean showCharacterBounds = true;
+    public boolean showZombieBounds = true;
+    public boolean showBatBounds = true;
+    public boolean showColliders = true;
+    public boolean showPlatforms = true;
+
+    private final ShapeRenderer shapeRenderer = new ShapeRenderer();
+    private final Rectangle enemyBounds = new Rectangle();
+    private final ShaderProgram staticShader = ImmediateModeRenderer20.createDefaultShader(false, true, 0);
+    private Mesh staticMesh;
+    private int colliderVertexCount;
+    private int platformVertexOffset;
+    private int platformVertexCount;
+
+    // Rebuilds the static mesh, call again whenever the colliders or platforms change
+    public void setStaticGeometry(List<Rectangle> colliders, List<Rectangle> platforms) {
+        if (staticMesh != null) {
+            staticMesh.dispose();
+            staticMesh = null;
+        }
+
+        colliderVertexCount = colliders.size() * LINE_VERTICES_PER_RECTANGLE;
+        platformVertexOffset = colliderVertexCount;
+        platformVertexCount = platforms.size() * TRIANGLE_VERTICES_PER_RECTANGLE;
+        int vertexCount = colliderVertexCount + platformVertexCount;
+        if (vertexCount == 0) return;
+
+        float[] vertices = new float[vertexCount * VERTEX_SIZE];
+        int index = 0;
+        float colliderColor = Color.RED.toFloatBits();
+        for (Rectangle collider : colliders) {
+            index = addOutline(vertices, index, collider, colliderColor);
+        }
+        float platformColor = Color.RED.toFloatBits();
+        for (Rectangle platform : platforms) {
+            index = addFilled(vertices, index, platform, platformColor);
+        }
+
+        staticMesh = new Mesh(true, vertexCount, 0,
+            new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+            new VertexAttribute(VertexAttributes.Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE));
+        staticMesh.setVertices(vertices);
+    }
+
+    private static int addOutline(float[] vertices, int index, Rectangle rectangle, float color) {
+        float x1 = rectangle.x;
+        float y1 = rectangle.y;
+        float x2 = rectangle.x + rectangle.width;
+        float y2 = rectangle.y + rectangle.height;
+        index = addVertex(vertices, index, x1, y1, color);
+        index = addVertex(vertices, index, x2, y1, color);
+        index = addVertex(vertices, index, x2, y1, color);
+        index = addVertex(vertices, index, x2, y2, color);
+        index = addVertex(vertices, index, x2, y2, color);
+        index = addVertex(vertices, index, x1, y2, color);
+        index = addVertex(vertices, index, x1, y2, color);
+        return addVertex(vertices, index, x1, y1, color);
+    }
+
+    private static int addFilled(float[] vertices, int index, Rectangle rectangle, float color) {
+        float x1 = rectangle.x;
+        float y1 = rectangle.y;
+        float x2 = rectangle.x + rectangle.width;
+        float y2 = rectangle.y + rectangle.height;
+        index = addVertex(vertices, index, x1, y1, color);
+        index = addVertex(vertices, index, x2, y1, color);
+        index = addVertex(vertices, index, x2, y2, color);
+        index = addVertex(vertices, index, x2, y2, color);
+        index = addVertex(vertices, index, x1, y2, color);
+        return addVertex(vertices, index, x1, y1, color);
+    }
+
+    private static int addVertex(float[] vertices, int index, float x, float y, float color) {
+        vertices[index++] = x;
+        vertices[index++] = y;
+        vertices[index++] = color;
+        return index;
+    }
+
+    // Platforms have no sprites yet, so they are drawn even when the debug categories are off
+    public void render(Matrix4 projection, boolean debugging, CharacterManager character, EnemyStore enemies) {
+        renderStaticGeometry(projection, debugging && showColliders, showPlatforms);
+        if (!debugging || !(showCharacterBounds || showZombieBounds || showBatBounds)) return;
+
+        shapeRenderer.setProjectionMatrix(projection);
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
+        if (showCharacterBounds) {
+            shapeRenderer.setColor(Color.RED);
+            drawRectangle(character.getMainCharacterRectangle());
+        }
+        for (int i = 0; i < enemies.size(); i++) {
+            boolean zombie = enemies.getType(i) == EnemyStore.ZOMBIE;
+            if (zombie ? !showZombieBounds : !showBatBounds) continue;
+
+            shapeRenderer.setColor(zombie ? Color.GREEN : Color.BLUE);
+            drawRectangle(enemies.getBounds(i, enemyBounds));
+        }
+        shapeRenderer.end();
+    }
+
+    private void renderStaticGeometry(Matrix4 projection, boolean colliders, boolean platforms) {
+        if (staticMesh == null || (!colliders && !platforms)) return;
+
+        staticShader.bind();
+        staticShader.setUniformMatrix("u_projModelView", projection);
+        if (colliders && colliderVertexCount > 0) {
+            staticMesh.render(staticShader, GL20.GL_LINES, 0, colliderVertexCount);
+        }
+        if (platforms && platformVertexCount > 0) {
+            staticMesh.render(staticShader, GL20.GL_TRIANGLES, platformVertexOffset, platformVertexCount);
+        }
+    }
+
+    private void drawRectangle(Rectangle rectangle) {
+        shapeRenderer.rect(rectangle.x, rectangle.y, rectangle.width, rectangle.height);
+    }
+
+    @Override
+    public void dispose() {
+        shapeRenderer.dispose();
+        staticShader.dispose();
+        if (staticMesh != null) {
+            staticMesh.dispose();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package krazy.cat.games.Effects;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+// Describes how the particles of one effect look and move, the ParticleSystem only plays them back.
+// Every particle runs through all frames once over its lifetime.
+public class EffectDefinition {
+    final TextureRegion[] frames;
+    final float lifetime; // Seconds
+    final int particleCount; // Particles per spawn
+    final float minScale, maxScale; // Size relative to the frame size
+    final float minSpeed, maxSpeed; // World units per second
+    final float spreadDegrees; // Launch angle around the spawn direction
+    final float gravity; // World units per second squared, negative pulls down
+
+    public EffectDefinition(TextureRegion[] frames, float lifetime, int particleCount, float minScale, float maxScale,
+                            float minSpeed, float maxSpeed, float spreadDegrees, float gravity) {
+        if (frames.length == 0) {
+            throw new IllegalArgumentException("An effect needs at least one frame");
+        }
+        this.frames = frames;
+        this.lifetime = lifetime;
+        this.particleCount = particleCount;
+        this.minScale = minScale;
+        this.maxScale = maxScale;
+        this.minSpeed = minSpeed;
+        this.maxSpeed = maxSpeed;
+        this.spreadDegrees = spreadDegrees;
+        this.gravity = gravity;
+    }
+}
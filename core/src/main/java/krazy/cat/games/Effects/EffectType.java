@@ -0,0 +1,5 @@
+package krazy.cat.games.Effects;
+
+public enum EffectType {
+    PLAYER_BLOOD, ENEMY_BLOOD, BLOOD_DROPS
+}
@@ -0,0 +1,147 @@
+package krazy.cat.games.Effects;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+
+import krazy.cat.games.InstancedQuadRenderer;
+import krazy.cat.games.RenderQueue;
+
+// Fixed capacity particle storage for hit effects. Particles live in parallel arrays that are allocated once; spawning
+// writes into the next free slot and dead particles are swapped with the last live one, so nothing is allocated while
+// playing. When the capacity is reached new particles are dropped.
+public class ParticleSystem {
+    private final EffectDefinition[] definitions = new EffectDefinition[EffectType.values().length];
+
+    private final int capacity;
+    private final EffectDefinition[] effect;
+    private final float[] x, y;
+    private final float[] previousX, previousY; // Position at the start of the current simulation step
+    private final float[] velocityX, velocityY;
+    private final float[] width, height; // Negative width mirrors the sprite
+    private final float[] age;
+    private int count = 0;
+
+    public ParticleSystem(int capacity) {
+        this.capacity = capacity;
+        effect = new EffectDefinition[capacity];
+        x = new float[capacity];
+        y = new float[capacity];
+        previousX = new float[capacity];
+        previousY = new float[capacity];
+        velocityX = new float[capacity];
+        velocityY = new float[capacity];
+        width = new float[capacity];
+        height = new float[capacity];
+        age = new float[capacity];
+    }
+
+    public void define(EffectType type, EffectDefinition definition) {
+        definitions[type.ordinal()] = definition;
+    }
+
+    // directionX: 1 = effect points to the right, -1 = to the left
+    public void spawn(EffectType type, float spawnX, float spawnY, float directionX) {
+        EffectDefinition definition = definitions[type.ordinal()];
+        if (definition == null) return;
+
+        float baseAngle = directionX < 0 ? 180f : 0f;
+        for (int i = 0; i < definition.particleCount && count < capacity; i++) {
+            int index = count++;
+            float angle = baseAngle + MathUtils.random(-definition.spreadDegrees, definition.spreadDegrees) / 2;
+            float speed = MathUtils.random(definition.minSpeed, definition.maxSpeed);
+            float scale = MathUtils.random(definition.minScale, definition.maxScale);
+            TextureRegion frame = definition.frames[0];
+
+            effect[index] = definition;
+            velocityX[index] = MathUtils.cosDeg(angle) * speed;
+            velocityY[index] = MathUtils.sinDeg(angle) * speed;
+            width[index] = frame.getRegionWidth() * scale * (directionX < 0 ? -1 : 1);
+            height[index] = frame.getRegionHeight() * scale;
+            // Centered on the spawn point, for mirrored particles x is the right edge
+            x[index] = spawnX - width[index] / 2;
+            y[index] = spawnY - height[index] / 2;
+            previousX[index] = x[index];
+            previousY[index] = y[index];
+            age[index] = 0f;
+        }
+    }
+
+    public void update(float deltaTime) {
+        for (int i = count - 1; i >= 0; i--) {
+            age[i] += deltaTime;
+            if (age[i] >= effect[i].lifetime) {
+                remove(i);
+                continue;
+            }
+            velocityY[i] += effect[i].gravity * deltaTime;
+            x[i] += velocityX[i] * deltaTime;
+            y[i] += velocityY[i] * deltaTime;
+        }
+    }
+
+    private void remove(int index) {
+        int last = --count;
+        effect[index] = effect[last];
+        x[index] = x[last];
+        y[index] = y[last];
+        previousX[index] = previousX[last];
+        previousY[index] = previousY[last];
+        velocityX[index] = velocityX[last];
+        velocityY[index] = velocityY[last];
+        width[index] = width[last];
+        height[index] = height[last];
+        age[index] = age[last];
+        effect[last] = null;
+    }
+
+    private TextureRegion getFrame(int index) {
+        TextureRegion[] frames = effect[index].frames;
+        int frame = (int) (age[index] / effect[index].lifetime * frames.length);
+        return frames[Math.min(frame, frames.length - 1)];
+    }
+
+    public void savePreviousPositions() {
+        System.arraycopy(x, 0, previousX, 0, count);
+        System.arraycopy(y, 0, previousY, 0, count);
+    }
+
+    // Mirrored particles span x + width (negative) to x
+    private boolean isVisible(int index, Rectangle visibleArea) {
+        float left = Math.min(x[index], x[index] + width[index]);
+        return left < visibleArea.x + visibleArea.width && left + Math.abs(width[index]) > visibleArea.x
+            && y[index] < visibleArea.y + visibleArea.height && y[index] + height[index] > visibleArea.y;
+    }
+
+    // Particles outside of the visible area are skipped
+    public void render(RenderQueue renderQueue, float alpha, Rectangle visibleArea) {
+        for (int i = 0; i < count; i++) {
+            if (!isVisible(i, visibleArea)) continue;
+
+            float renderX = previousX[i] + (x[i] - previousX[i]) * alpha;
+            float renderY = previousY[i] + (y[i] - previousY[i]) * alpha;
+            renderQueue.submit(getFrame(i), renderX, renderY, width[i], height[i], RenderQueue.LAYER_EFFECTS, 0);
+        }
+    }
+
+    public void render(InstancedQuadRenderer instancedRenderer, float alpha, Rectangle visibleArea) {
+        for (int i = 0; i < count; i++) {
+            if (!isVisible(i, visibleArea)) continue;
+
+            float renderX = previousX[i] + (x[i] - previousX[i]) * alpha;
+            float renderY = previousY[i] + (y[i] - previousY[i]) * alpha;
+            instancedRenderer.draw(getFrame(i), renderX, renderY, width[i], height[i]);
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void clear() {
+        for (int i = 0; i < count; i++) {
+            effect[i] = null;
+        }
+        count = 0;
+    }
+}
@@ -0,0 +1,62 @@
+package krazy.cat.games;
+
+import com.badlogic.gdx.utils.Array;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+// Ordered list of live entities. Entities are only marked dead while the tick runs (by their own flag, e.g.
+// Bullet.deactivate()) and stay in place, so indices held during the tick stay valid. compact() then drops all dead
+// entities in one stable pass at the end of the tick instead of shifting the list once per removal.
+// Iterate with get(i) and size(), not with an iterator.
+public class EntityContainer<T> {
+    private final Array<T> entities;
+
+    public EntityContainer(int initialCapacity) {
+        entities = new Array<>(true, initialCapacity);
+    }
+
+    public void add(T entity) {
+        entities.add(entity);
+    }
+
+    public T get(int index) {
+        return entities.get(index);
+    }
+
+    public int size() {
+        return entities.size;
+    }
+
+    public boolean isEmpty() {
+        return entities.size == 0;
+    }
+
+    // Two pointer pass: the survivors are moved down over the dead in their order, the dead are handed to onRemoved
+    // (e.g. to free them to their pool). Returns the number of removed entities.
+    public int compact(Predicate<? super T> isDead, Consumer<? super T> onRemoved) {
+        int size = entities.size;
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            T entity = entities.get(i);
+            if (isDead.test(entity)) {
+                onRemoved.accept(entity);
+            } else {
+                if (kept != i) {
+                    entities.set(kept, entity);
+                }
+                kept++;
+            }
+        }
+        entities.truncate(kept);
+        return size - kept;
+    }
+
+    // Hands every entity to onRemoved and empties the container
+    public void clear(Consumer<? super T> onRemoved) {
+        for (int i = 0; i < entities.size; i++) {
+            onRemoved.accept(entities.get(i));
+        }
+        entities.clear();
+    }
+}
@@ -0,0 +1,58 @@
+package krazy.cat.games;
+
+// Accumulates frame time and hands it out in fixed simulation steps.
+// The remainder is exposed as an interpolation factor so rendering can blend between the last two simulated states.
+public class FixedTimestep {
+    private float stepDuration;
+    private int maxSubsteps;
+    private float accumulator = 0f;
+
+    public FixedTimestep(float tickRate, int maxSubsteps) {
+        setTickRate(tickRate);
+        setMaxSubsteps(maxSubsteps);
+    }
+
+    // Returns how many fixed steps have to be simulated for this frame
+    public int advance(float deltaTime) {
+        accumulator += deltaTime;
+
+        int steps = 0;
+        while (accumulator >= stepDuration && steps < maxSubsteps) {
+            accumulator -= stepDuration;
+            steps++;
+        }
+
+        // After a hitch drop the backlog instead of trying to catch up (spiral of death)
+        if (accumulator >= stepDuration) {
+            accumulator %= stepDuration;
+        }
+        return steps;
+    }
+
+    // 0 = last simulated state, 1 = next simulated state
+    public float getAlpha() {
+        return accumulator / stepDuration;
+    }
+
+    public float getStepDuration() {
+        return stepDuration;
+    }
+
+    public void setTickRate(float tickRate) {
+        if (tickRate <= 0) {
+            throw new IllegalArgumentException("Tick rate must be positive: " + tickRate);
+        }
+        stepDuration = 1f / tickRate;
+    }
+
+    public void setMaxSubsteps(int maxSubsteps) {
+        if (maxSubsteps < 1) {
+            throw new IllegalArgumentException("At least one substep is required: " + maxSubsteps);
+        }
+        this.maxSubsteps = maxSubsteps;
+    }
+
+    public void reset() {
+        accumulator = 0f;
+    }
+}
@@ -4,128 +4,281 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
-import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
-import krazy.cat.games.Characters.BatManager;
+import krazy.cat.games.Audio.SoundBank;
+import krazy.cat.games.Audio.SoundMixer;
+import krazy.cat.games.Characters.AnimationSets.AnimationRegistry;
 import krazy.cat.games.Characters.CharacterManager;
-import krazy.cat.games.Characters.ZombieManager;
+import krazy.cat.games.Characters.EnemyStore;
+import krazy.cat.games.Characters.EnemySystems;
+import krazy.cat.games.Collision.CollisionGrid;
+import krazy.cat.games.Effects.EffectDefinition;
+import krazy.cat.games.Effects.EffectType;
+import krazy.cat.games.Effects.ParticleSystem;
 
 public class GameLoop {
     public static final int SCALE = 5;
     public static final float MAP_SCALE = 5.f; // Scaling factor for the map
+    public static final float DEFAULT_TICK_RATE = 60.f; // Simulation steps per second
+    public static final int MAX_SUBSTEPS = 5; // Simulation steps allowed per rendered frame
+    private static final int MAX_PARTICLES = 512;
+    private static final int MAX_INSTANCES = 1024; // Instances per instanced draw call
+    private static final float VIEW_MARGIN = 200f; // World units around the view that are still drawn
     public boolean isDebugging = false;
+    public boolean useFixedTimestep = true; // false = simulate with the raw frame delta
+    public boolean useActivityZones = true; // false = fully simulate enemies anywhere on the map
+    public int farEnemyUpdateInterval = 0; // Ticks between updates of sleeping enemies, 0 = frozen; each moves them one tick
+    public boolean useParallelEnemyUpdates = true; // false = simulate all enemies on the render thread
+    public boolean useImpactScheduling = true; // false = check every bullet against targets and tiles every tick
 
     private OrthographicCamera camera;
     private TiledMap tiledMap;
-    private OrthogonalTiledMapRenderer mapRenderer;
+    private ChunkedMapRenderer mapRenderer;
     private SpriteBatch batch;
+    private ShaderProgram hitFlashShader;
     private BitmapFont textToShow;
     private int score = 0;
     private boolean isPaused = false; // Pause state flag
+    private final FixedTimestep fixedTimestep = new FixedTimestep(DEFAULT_TICK_RATE, MAX_SUBSTEPS);
     private CharacterManager characterManager;
     private InputHandler inputHandler;
-    private ShapeRenderer shapeRenderer;
-    private List<Bullet> bullets = new ArrayList<>();
-    private List<ZombieManager> zombies = new ArrayList<>();
-    private List<BatManager> bats = new ArrayList<>();
+    private DebugOverlay debugOverlay;
+    private final RenderQueue renderQueue = new RenderQueue();
+    private ParticleSystem particleSystem;
+    private InstancedQuadRenderer instancedRenderer; // null without GL30, then everything goes through the batch
+    private ProjectileManager projectileManager;
+    private SpriteAtlas spriteAtlas;
+    private AnimationRegistry animationRegistry;
+    private SoundBank soundBank;
+    private SoundMixer soundMixer;
+    private final EnemyStore enemies = new EnemyStore();
+    private EnemySystems enemySystems;
     private List<Rectangle> platforms = new ArrayList<>();
+    private final Rectangle viewBounds = new Rectangle();
     private List<Rectangle> tiledRectangles = new ArrayList<>();
+    private CollisionGrid collisionGrid = CollisionGrid.empty();
 
     public void create() {
-        batch = new SpriteBatch();
-        // Load the Tiled map
-        TmxMapLoader mapLoader = new TmxMapLoader();
-        tiledMap = mapLoader.load("TiledMapEditing/AgentSlug_Map.tmx");
-        mapRenderer = new OrthogonalTiledMapRenderer(tiledMap, MAP_SCALE);
+        // One shader for every entity, hit flashes are passed through the vertex color
+        if (batch == null) {
+            batch = new SpriteBatch();
+            hitFlashShader = HitFlash.createShader();
+            if (hitFlashShader.isCompiled()) {
+                batch.setShader(hitFlashShader);
+            }
+        }
+        if (instancedRenderer == null && InstancedQuadRenderer.isSupported()) {
+            createInstancedRenderer();
+        }
+        // Load the Tiled map once, the map renderer caches the whole map on the GPU and survives restarts
+        if (tiledMap == null) {
+            TmxMapLoader mapLoader = new TmxMapLoader();
+            tiledMap = mapLoader.load("TiledMapEditing/AgentSlug_Map.tmx");
+            mapRenderer = new ChunkedMapRenderer(tiledMap, MAP_SCALE);
+        }
 
         setupCamera();
 
-        createTextToShow();
-        inputHandler = new InputHandler();
+        if (textToShow == null) {
+            createTextToShow();
+        }
+        // The menus take over the input while they are shown, keys released meanwhile must not stay pressed
+        if (inputHandler == null) {
+            inputHandler = new InputHandler();
+        }
+        inputHandler.releaseAll();
         Gdx.input.setInputProcessor(inputHandler);
 
-        shapeRenderer = new ShapeRenderer();
         parseCollisionLayer();
         createPlatforms();
+        if (debugOverlay == null) {
+            debugOverlay = new DebugOverlay();
+        }
+        debugOverlay.setStaticGeometry(tiledRectangles, platforms);
 
-        // Clear existing lists
-        bullets.clear();
-        zombies.clear();
-        bats.clear();
+        if (soundBank == null) {
+            soundBank = new SoundBank();
+            soundMixer = new SoundMixer(soundBank);
+        }
+        if (spriteAtlas == null) {
+            spriteAtlas = new SpriteAtlas();
+        }
+        if (animationRegistry == null) {
+            animationRegistry = new AnimationRegistry(spriteAtlas);
+        }
+        if (projectileManager == null) {
+            projectileManager = new ProjectileManager(spriteAtlas);
+        }
+        if (particleSystem == null) {
+            particleSystem = new ParticleSystem(MAX_PARTICLES);
+            defineEffects();
+        }
+        if (enemySystems == null) {
+            enemySystems = new EnemySystems(animationRegistry.getZombieAnimations(SpriteAtlas.ZOMBIE),
+                animationRegistry.getBatAnimations(SpriteAtlas.BAT), soundMixer, particleSystem);
+        }
+        projectileManager.setMapBounds(getMapWidth(), getMapHeight());
+        enemySystems.setMapBounds(getMapWidth(), getMapHeight());
+        projectileManager.setCollisionGrid(collisionGrid);
+
+        // Clear existing lists (on restart the old entities hand their shared sounds back first)
+        projectileManager.clear();
+        particleSystem.clear();
+        soundMixer.stopAll();
+        disposeCharacters();
 
         spawnCharacter();
         spawnZombies();
         spawnBats();
+        enemySystems.updateBounds(enemies);
+        fixedTimestep.reset();
     }
 
     public void render() {
         // Clear the screen
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        float alpha = 1f; // Interpolation between the previous and the current simulation step
+        if (!isPaused) {
+            alpha = stepSimulation(Gdx.graphics.getDeltaTime());
+        }
+
         // Update camera and map renderer
-        camera.update();
+        updateCamera(alpha);
         mapRenderer.setView(camera);
+        soundMixer.setView(camera);
+        soundMixer.update(Gdx.graphics.getDeltaTime());
         // Render the map
         mapRenderer.render();
 
-        if (!isPaused) {
-            updateGameState(Gdx.graphics.getDeltaTime());
+        renderGameObjects(alpha);
+    }
+
+    private float stepSimulation(float deltaTime) {
+        if (!useFixedTimestep) {
+            savePreviousPositions();
+            updateGameState(deltaTime);
+            return 1f;
+        }
+
+        int steps = fixedTimestep.advance(deltaTime);
+        for (int i = 0; i < steps; i++) {
+            savePreviousPositions();
+            updateGameState(fixedTimestep.getStepDuration());
         }
+        return fixedTimestep.getAlpha();
+    }
+
+    private void savePreviousPositions() {
+        characterManager.savePreviousPosition();
+        projectileManager.savePreviousPositions();
+        enemySystems.savePreviousPositions(enemies);
+        particleSystem.savePreviousPositions();
+    }
+
+    public void setTickRate(float tickRate) {
+        fixedTimestep.setTickRate(tickRate);
+    }
 
-        renderGameObjects();
+    public void setMaxSubsteps(int maxSubsteps) {
+        fixedTimestep.setMaxSubsteps(maxSubsteps);
     }
 
     public void dispose() {
         batch.dispose();
-        characterManager.dispose();
+        hitFlashShader.dispose();
+        if (instancedRenderer != null) {
+            instancedRenderer.dispose();
+        }
         textToShow.dispose();
-        shapeRenderer.dispose();
+        debugOverlay.dispose();
         mapRenderer.dispose();
+        tiledMap.dispose();
+        projectileManager.dispose();
+        animationRegistry.dispose();
+        soundMixer.stopAll();
+        disposeCharacters();
+        enemySystems.dispose();
+        soundBank.dispose();
+        spriteAtlas.dispose();
+    }
 
-        for (ZombieManager zombie : zombies) {
-            zombie.dispose();
-        }
-
-        for (BatManager bat : bats) {
-            bat.dispose();
+    private void disposeCharacters() {
+        if (characterManager != null) {
+            characterManager.dispose();
+            characterManager = null;
         }
+        enemies.clear();
     }
 
-    private void renderGameObjects() {
+    private void renderGameObjects(float alpha) {
         batch.setProjectionMatrix(camera.combined); // Use the camera's combined matrix for the batch
+        // Bullets are the lowest entity layer, so with GL30 they are drawn instanced before the batch
+        if (instancedRenderer != null) {
+            instancedRenderer.begin(camera.combined);
+            projectileManager.render(instancedRenderer, alpha, viewBounds);
+            instancedRenderer.end();
+        } else {
+            projectileManager.render(renderQueue, alpha, viewBounds);
+        }
+        enemySystems.render(enemies, renderQueue, alpha, viewBounds);
+        characterManager.renderCharacter(renderQueue, alpha);
+        if (instancedRenderer == null) {
+            particleSystem.render(renderQueue, alpha, viewBounds);
+        }
+
+        batch.begin();
+        renderQueue.render(batch);
+        batch.end();
+
+        // Effects are the top entity layer, so with GL30 they are drawn instanced after the batch
+        if (instancedRenderer != null) {
+            instancedRenderer.begin(camera.combined);
+            particleSystem.render(instancedRenderer, alpha, viewBounds);
+            instancedRenderer.end();
+        }
+
+        // The score goes over every entity layer on both paths
         batch.begin();
-        renderBullets(batch);
-        renderZombies(batch);
-        renderBats(batch);
-        characterManager.renderCharacter(batch);
         renderScore(batch);
         batch.end();
 
-        // debugRendering
-        if (isDebugging) {
-            renderCharacterRectangle();
-            renderZombieRectangles();
-            renderBatRectangles();
-            renderTiledRectangles();
+        debugOverlay.render(camera.combined, isDebugging, characterManager, enemies);
+    }
+
+    // Every hit effect reuses the blood frames of the atlas
+    private void defineEffects() {
+        TextureRegion[] bloodFrames = animationRegistry.getHitEffectFrames();
+        particleSystem.define(EffectType.PLAYER_BLOOD, new EffectDefinition(bloodFrames, 0.9f, 1, 3f, 3f, 0f, 0f, 0f, 0f));
+        particleSystem.define(EffectType.ENEMY_BLOOD, new EffectDefinition(bloodFrames, 0.6f, 1, 3f, 4f, 0f, 60f, 30f, 0f));
+        particleSystem.define(EffectType.BLOOD_DROPS, new EffectDefinition(bloodFrames, 0.5f, 4, 0.6f, 1.2f, 200f, 500f, 90f, -1500f));
+    }
+
+    private void createInstancedRenderer() {
+        try {
+            instancedRenderer = new InstancedQuadRenderer(MAX_INSTANCES);
+        } catch (RuntimeException e) {
+            Gdx.app.error("InstancedQuadRenderer", "Falling back to the SpriteBatch", e);
+            instancedRenderer = null;
         }
-        renderPlatforms();
     }
 
     private void parseCollisionLayer() {
-        tiledRectangles = new ArrayList<>();
+        collisionGrid = CollisionGrid.empty();
+        tiledRectangles = collisionGrid.getColliders();
         Gdx.app.log("Collision", "Parsing collision layer");
 
         var collisionLayer = tiledMap.getLayers().get("Collision");
@@ -140,22 +293,9 @@ public class GameLoop {
             return;
         }
 
-        TiledMapTileLayer tileLayer = (TiledMapTileLayer) collisionLayer;
-        int layerWidth = tileLayer.getWidth();
-        int layerHeight = tileLayer.getHeight();
-        float tileWidth = tileLayer.getTileWidth();
-        float tileHeight = tileLayer.getTileHeight();
-
-        for (int x = 0; x < layerWidth; x++) {
-            for (int y = 0; y < layerHeight; y++) {
-                TiledMapTileLayer.Cell cell = tileLayer.getCell(x, y);
-                if (cell != null && cell.getTile() != null) {
-                    Rectangle rect = new Rectangle(x * tileWidth * MAP_SCALE, y * tileHeight * MAP_SCALE, tileWidth * MAP_SCALE, tileHeight * MAP_SCALE);
-                    tiledRectangles.add(rect);
-                    Gdx.app.log("Collision", "Parsed rectangle: " + rect);
-                }
-            }
-        }
+        collisionGrid = CollisionGrid.fromTileLayer((TiledMapTileLayer) collisionLayer, MAP_SCALE);
+        tiledRectangles = collisionGrid.getColliders();
+        Gdx.app.log("Collision", "Parsed " + tiledRectangles.size() + " collision rectangles");
     }
 
     public void setupCamera() {
@@ -163,15 +303,27 @@ public class GameLoop {
         camera.setToOrtho(false, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
         camera.position.set(camera.viewportWidth / 2, camera.viewportHeight / 2, 0);
         camera.update();
+        updateViewBounds();
         mapRenderer.setView(camera);
     }
 
     private void updateGameState(float deltaTime) {
         updateCharacter(deltaTime);
-        updateBullets(deltaTime);
-        updateZombies(deltaTime);
-        updateBats(deltaTime);
-        updateCamera();
+        projectileManager.setImpactScheduling(useImpactScheduling);
+        projectileManager.update(deltaTime);
+        updateEnemies(deltaTime);
+        scheduleContactChecks();
+        projectileManager.freeInactiveBullets();
+        particleSystem.update(deltaTime);
+    }
+
+    // Bullets that can not reach the character or an enemy for a while skip the contact checks until then
+    private void scheduleContactChecks() {
+        float targetSpeed = Math.max(characterManager.getTopSpeed(ProjectileManager.MAX_CONTACT_DELAY),
+            enemySystems.getTopSpeed(ProjectileManager.MAX_CONTACT_DELAY));
+        float targetSnap = Math.max(characterManager.getMaxLandingSnap(), enemySystems.getMaxLandingSnap());
+        projectileManager.scheduleContactChecks(enemySystems.getEnemyGrid(), characterManager.getMainCharacterRectangle(),
+            targetSpeed, targetSnap);
     }
 
     private void updateCharacter(float deltaTime) {
@@ -192,147 +344,62 @@ public class GameLoop {
             inputHandler.isShootRightPressed()
 
         );
-        characterManager.handleCollisions(platforms, tiledRectangles, zombies, bats, bullets);
+        characterManager.handleCollisions(platforms, collisionGrid, enemies, enemySystems.getEnemyGrid(), projectileManager);
         characterManager.updateAnimationState();
 
         // Attack Input
         if (!characterManager.isShooting()
             && (inputHandler.isShootRightPressed() || inputHandler.isShootLeftPressed())
         ) {
-            Bullet bullet = characterManager.shoot();
-            bullets.add(bullet);
-        }
-    }
-
-    private void updateBullets(float deltaTime) {
-        Iterator<Bullet> bulletIterator = bullets.iterator();
-        while (bulletIterator.hasNext()) {
-            Bullet bullet = bulletIterator.next();
-            bullet.update(deltaTime);
-        }
-    }
-
-    private void updateZombies(float deltaTime) {
-        // With the iterator to prevent : -->  ConcurrentModificationException <--
-        Iterator<ZombieManager> zombieIterator = zombies.iterator();
-        while (zombieIterator.hasNext()) {
-            ZombieManager zombie = zombieIterator.next();
-            zombie.update(deltaTime);
-            zombie.moveZombieTowardsCharacter(characterManager, deltaTime);
-            zombie.handleCollisions(platforms, tiledRectangles);
-            zombie.updateAnimationState();
-            zombie.checkBulletCollisions(bullets);
-            if (zombie.isDead() && zombie.isDisposable()) {
-                //   zombie.dispose(); // Clean up resources if necessary ToDo: not the spritesheet
-                zombieIterator.remove(); // Remove from the list
-            }
+            characterManager.shoot(projectileManager);
         }
     }
 
-    private void updateBats(float deltaTime) {
-        // With the iterator to prevent : -->  ConcurrentModificationException <--
-        Iterator<BatManager> batIterator = bats.iterator();
-        while (batIterator.hasNext()) {
-            BatManager bat = batIterator.next();
-            bat.update(deltaTime);
-            bat.moveBatTowardsCharacter(characterManager, deltaTime);
-            bat.handleCollisions(platforms, tiledRectangles);
-            bat.updateAnimationState();
-            bat.checkBulletCollisions(bullets);
-            if (bat.isDead() && bat.isDisposable()) {
-                //   zombie.dispose(); // Clean up resources if necessary ToDo: not the spritesheet
-                batIterator.remove(); // Remove from the list
-            }
-        }
-    }
-
-    private void renderBats(Batch batch) {
-        for (BatManager bat : bats) {
-            bat.renderCharacter(batch);
-        }
+    private void updateEnemies(float deltaTime) {
+        enemySystems.setParallel(useParallelEnemyUpdates);
+        enemySystems.setActivityZones(useActivityZones);
+        enemySystems.setFarUpdateInterval(farEnemyUpdateInterval);
+        enemySystems.setActivityCenter(camera.position.x, camera.position.y);
+        enemySystems.update(enemies, deltaTime, characterManager, platforms, collisionGrid, projectileManager);
     }
 
-    private void updateCamera() {
-        // Update the camera position to follow the character
-        Vector2 characterPosition = characterManager.getMainCharacter();
+    private void updateCamera(float alpha) {
+        // Update the camera position to follow the (interpolated) character
+        Vector2 characterPosition = characterManager.getRenderPosition(alpha);
         float cameraX = characterPosition.x + (float) characterManager.getCurrentUpperBodyFrame().getRegionWidth() / 2;
         float cameraY = characterPosition.y + (float) characterManager.getCurrentUpperBodyFrame().getRegionHeight() / 2;
 
         // Keep the camera within the bounds of the map
-        camera.position.set(Math.max(camera.viewportWidth / 2, Math.min(cameraX, tiledMap.getProperties().get("width", Integer.class) * tiledMap.getProperties().get("tilewidth", Integer.class) * MAP_SCALE - camera.viewportWidth / 2)), Math.max(camera.viewportHeight / 2, Math.min(cameraY, tiledMap.getProperties().get("height", Integer.class) * tiledMap.getProperties().get("tileheight", Integer.class) * MAP_SCALE - camera.viewportHeight / 2)), 0);
+        camera.position.set(Math.max(camera.viewportWidth / 2, Math.min(cameraX, getMapWidth() - camera.viewportWidth / 2)), Math.max(camera.viewportHeight / 2, Math.min(cameraY, getMapHeight() - camera.viewportHeight / 2)), 0);
         camera.update();
+        updateViewBounds();
     }
 
-    private void renderBullets(Batch batch) {
-        for (Bullet bullet : bullets) {
-            bullet.render(batch);
-        }
-    }
+    // Visible world area, plus a margin for interpolation and sprites overhanging their bounds
+    private void updateViewBounds() {
+        float viewWidth = camera.viewportWidth * camera.zoom;
+        float viewHeight = camera.viewportHeight * camera.zoom;
+        float left = camera.position.x - viewWidth / 2;
+        float bottom = camera.position.y - viewHeight / 2;
 
-    private void renderZombies(Batch batch) {
-        for (ZombieManager zombie : zombies) {
-            zombie.renderCharacter(batch);
-        }
+        viewBounds.set(left - VIEW_MARGIN, bottom - VIEW_MARGIN, viewWidth + VIEW_MARGIN * 2, viewHeight + VIEW_MARGIN * 2);
     }
 
     private void renderScore(Batch batch) {
         textToShow.draw(batch, String.valueOf(score), 0, 0);
     }
 
-    private void renderCharacterRectangle() {
-        Rectangle characterRect = characterManager.getMainCharacterRectangle();
-
-        shapeRenderer.setProjectionMatrix(camera.combined);
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
-        shapeRenderer.setColor(Color.RED);
-        shapeRenderer.rect(characterRect.x, characterRect.y, characterRect.width, characterRect.height);
-        shapeRenderer.end();
-    }
-
-    private void renderZombieRectangles() {
-        shapeRenderer.setProjectionMatrix(camera.combined);
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
-        shapeRenderer.setColor(Color.GREEN);
-        for (ZombieManager zombie : zombies) {
-            Rectangle zombieRect = zombie.getMainZombieRectangle();
-            shapeRenderer.rect(zombieRect.x, zombieRect.y, zombieRect.width, zombieRect.height);
-        }
-        shapeRenderer.end();
-    }
-
-    private void renderBatRectangles() {
-        shapeRenderer.setProjectionMatrix(camera.combined);
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
-        shapeRenderer.setColor(Color.BLUE);
-        for (BatManager bat : bats) {
-            Rectangle batRect = bat.getBatRectangle();
-            shapeRenderer.rect(batRect.x, batRect.y, batRect.width, batRect.height);
-        }
-        shapeRenderer.end();
-    }
-
-    private void renderTiledRectangles() {
-        shapeRenderer.setProjectionMatrix(camera.combined);
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
-        shapeRenderer.setColor(Color.RED);
-        for (Rectangle tiledRectangle : tiledRectangles) {
-            shapeRenderer.rect(tiledRectangle.x, tiledRectangle.y, tiledRectangle.width, tiledRectangle.height);
-        }
-        shapeRenderer.end();
+    // Map size in world units, taken from the TMX properties
+    private float getMapWidth() {
+        return tiledMap.getProperties().get("width", Integer.class) * tiledMap.getProperties().get("tilewidth", Integer.class) * MAP_SCALE;
     }
 
-    private void renderPlatforms() {
-        shapeRenderer.setProjectionMatrix(camera.combined);
-
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-        shapeRenderer.setColor(Color.RED);
-        for (Rectangle platform : platforms) {
-            shapeRenderer.rect(platform.x, platform.y, platform.width, platform.height);
-        }
-        shapeRenderer.end();
+    private float getMapHeight() {
+        return tiledMap.getProperties().get("height", Integer.class) * tiledMap.getProperties().get("tileheight", Integer.class) * MAP_SCALE;
     }
 
     private void createPlatforms() {
+        platforms.clear(); // create() runs again on restart
         platforms.add(new Rectangle(100, 150, 200, 20));  // Platform 1
         platforms.add(new Rectangle(400, 300, 200, 20));  // Platform 2
         platforms.add(new Rectangle(700, 450, 200, 20));  // Platform 3
@@ -353,31 +420,26 @@ public class GameLoop {
     }
 
     private void spawnCharacter() {
-        Texture upperBodyCharacterTexture = new Texture("Character/FemaleAgent/Body/Red.png");
-        Texture lowerBodyCharacterTexture = new Texture("Character/FemaleAgent/Feet/Red.png");
-        characterManager = new CharacterManager(upperBodyCharacterTexture, lowerBodyCharacterTexture);
+        characterManager = new CharacterManager(animationRegistry.getAgentAnimations(SpriteAtlas.AGENT_UPPER_BODY, SpriteAtlas.AGENT_LOWER_BODY), soundMixer, particleSystem);
     }
 
     private void spawnZombies() {
-        Texture zombieTexture = new Texture("Zombies/GandalfHardcore Zombie v1 sheet.png"); // Replace with your enemy sprite sheet
-
         for (Rectangle platform : platforms) {
-            ZombieManager zombie = new ZombieManager(zombieTexture);
-            zombie.getMainCharacter().set(platform.x, platform.y + platform.height);
-            zombies.add(zombie);
+            enemies.add(EnemyStore.ZOMBIE, platform.x, platform.y + platform.height);
         }
     }
 
     private void spawnBats() {
-        Texture batTexture = new Texture("Bat_ver20230918/Bat_v1/Sprite Sheet/Bat_v1_Sheet.png"); // Replace with your bat sprite sheet
-
         for (Rectangle platform : platforms) {
-            BatManager bat = new BatManager(batTexture);
-            bat.getBatPosition().set(platform.x, platform.y + platform.height);
-            bats.add(bat);
+            enemies.add(EnemyStore.BAT, platform.x, platform.y + platform.height);
         }
     }
 
+    // Per category toggles of the debug rendering, isDebugging switches all of them (except the platforms) on or off
+    public DebugOverlay getDebugOverlay() {
+        return debugOverlay;
+    }
+
     public boolean isPaused() {
         return isPaused;
     }
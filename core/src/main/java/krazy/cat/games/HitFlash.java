@@ -0,0 +1,41 @@
+package krazy.cat.games;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+
+// Hit feedback through the vertex color instead of a uniform, so flashing and normal sprites share one shader and
+// one batch. libGDX packs colors with the lowest bit of the alpha byte cleared, which leaves that bit free to mark a
+// flashing sprite: the vertex shaders read it and the fragment shaders mix the tinted sprite towards red by
+// HIT_AMOUNT. Tints keep modulating the texture like they do with the default shader.
+public final class HitFlash {
+    public static final float HIT_AMOUNT = 0.5f;
+    private static final int FLASH_BIT = 1 << 24; // Lowest bit of the alpha byte of a packed ABGR color
+    private static final int ALPHA_BIT = 1 << 25; // The next one
+
+    private HitFlash() {
+    }
+
+    // Set once on the SpriteBatch for the whole entity pass
+    public static ShaderProgram createShader() {
+        ShaderProgram.pedantic = false;
+        ShaderProgram shader = loadShader("Shaders/vertex.glsl", "Shaders/fragment.glsl");
+        if (!shader.isCompiled()) {
+            Gdx.app.error("Shader Error", shader.getLog());
+        }
+        return shader;
+    }
+
+    // Compiles a shader pair that decodes the flash bit, the vertex shader gets the flash amount defined
+    public static ShaderProgram loadShader(String vertexPath, String fragmentPath) {
+        String flashAmount = "#define FLASH_AMOUNT " + HIT_AMOUNT + "\n";
+        return new ShaderProgram(flashAmount + Gdx.files.internal(vertexPath).readString(),
+            Gdx.files.internal(fragmentPath).readString());
+    }
+
+    // The packed color marked as flashing, its tint is kept. The bit above the flash bit is cleared so the packed
+    // bits can never form a NaN, which costs a flashing sprite 2/255 of its alpha at most.
+    public static float flash(float packedColor) {
+        int bits = Float.floatToRawIntBits(packedColor);
+        return Float.intBitsToFloat((bits & ~ALPHA_BIT) | FLASH_BIT);
+    }
+}
@@ -37,6 +37,18 @@ public class InputHandler implements InputProcessor {
         }
     }
 
+    public void releaseAll() {
+        leftPressed = false;
+        rightPressed = false;
+        runLeftPressed = false;
+        runRightPressed = false;
+        jumpPressed = false;
+        crouchPressed = false;
+        attackPressed = false;
+        shootLeftPressed = false;
+        shootRightPressed = false;
+    }
+
     public boolean isCrouchPressed() {
         return crouchPressed;
     }
@@ -0,0 +1,113 @@
+package krazy.cat.games;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+
+// Draws many sprites of the same texture (bullets, particles) with one instanced draw call.
+// Only one unit quad is stored on the GPU; per sprite just its bounds, atlas frame and tint are uploaded, and the
+// vertex shader builds the corners. Needs a GL30 context (see isSupported()), without one use the SpriteBatch.
+public class InstancedQuadRenderer implements Disposable {
+    private static final int INSTANCE_SIZE = 9; // x, y, width, height, u, v, u2, v2, packed color
+
+    private final int maxInstances;
+    private final Mesh mesh;
+    private final ShaderProgram shader;
+    private final float[] instanceData;
+    private int instanceCount = 0;
+    private Texture texture;
+    private boolean drawing = false;
+
+    public static boolean isSupported() {
+        return Gdx.gl30 != null;
+    }
+
+    public InstancedQuadRenderer(int maxInstances) {
+        if (!isSupported()) {
+            throw new IllegalStateException("Instanced rendering requires a GL30 context");
+        }
+        this.maxInstances = maxInstances;
+        instanceData = new float[maxInstances * INSTANCE_SIZE];
+
+        mesh = new Mesh(true, 4, 6, new VertexAttribute(VertexAttributes.Usage.Position, 2, "a_position"));
+        mesh.setVertices(new float[]{0, 0, 1, 0, 1, 1, 0, 1});
+        mesh.setIndices(new short[]{0, 1, 2, 2, 3, 0});
+        mesh.enableInstancedRendering(false, maxInstances,
+            new VertexAttribute(VertexAttributes.Usage.Generic, 4, "a_bounds"),
+            new VertexAttribute(VertexAttributes.Usage.Generic, 4, "a_region"),
+            new VertexAttribute(VertexAttributes.Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE));
+
+        shader = HitFlash.loadShader("Shaders/instancedVertex.glsl", "Shaders/instancedFragment.glsl");
+        if (!shader.isCompiled()) {
+            throw new IllegalStateException("Instanced shader failed to compile: " + shader.getLog());
+        }
+    }
+
+    public void begin(Matrix4 projection) {
+        if (drawing) {
+            throw new IllegalStateException("InstancedQuadRenderer.end must be called before begin");
+        }
+        drawing = true;
+        shader.bind();
+        shader.setUniformMatrix("u_projTrans", projection);
+        shader.setUniformi("u_texture", 0);
+    }
+
+    public void draw(TextureRegion region, float x, float y, float width, float height) {
+        draw(region, x, y, width, height, Color.WHITE_FLOAT_BITS);
+    }
+
+    // Sprites of another texture or beyond the capacity start a new draw call
+    public void draw(TextureRegion region, float x, float y, float width, float height, float packedColor) {
+        if (!drawing) {
+            throw new IllegalStateException("InstancedQuadRenderer.begin must be called before draw");
+        }
+        if (region.getTexture() != texture || instanceCount == maxInstances) {
+            flush();
+            texture = region.getTexture();
+        }
+
+        int offset = instanceCount * INSTANCE_SIZE;
+        instanceData[offset] = x;
+        instanceData[offset + 1] = y;
+        instanceData[offset + 2] = width;
+        instanceData[offset + 3] = height;
+        instanceData[offset + 4] = region.getU();
+        instanceData[offset + 5] = region.getV();
+        instanceData[offset + 6] = region.getU2();
+        instanceData[offset + 7] = region.getV2();
+        instanceData[offset + 8] = packedColor;
+        instanceCount++;
+    }
+
+    private void flush() {
+        if (instanceCount == 0) return;
+
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        texture.bind(0);
+        mesh.setInstanceData(instanceData, 0, instanceCount * INSTANCE_SIZE);
+        mesh.render(shader, GL20.GL_TRIANGLES, 0, 6);
+        instanceCount = 0;
+    }
+
+    public void end() {
+        flush();
+        texture = null;
+        drawing = false;
+    }
+
+    @Override
+    public void dispose() {
+        mesh.dispose();
+        shader.dispose();
+    }
+}
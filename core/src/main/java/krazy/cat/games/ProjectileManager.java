@@ -0,0 +1,255 @@
+package krazy.cat.games;
+
+import static krazy.cat.games.GameLoop.SCALE;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import krazy.cat.games.Collision.CollisionGrid;
+import krazy.cat.games.Collision.DynamicGrid;
+
+// Owns all live bullets: spawns them from the pool, moves them, despawns them once they hit something,
+// exceed their range or lifetime or leave the map, and hands them back to the pool.
+//
+// Tiles stop bullets. With impact scheduling bullets fly in straight lines, so the tile a bullet will hit is traced
+// once when it is fired and that impact goes into a priority queue; without, the distance moved is traced every tick.
+// Against moving targets a scheduled bullet is only put into the bullet grid (and with that into the contact checks)
+// once a target could have reached it: after each check the bullet is scheduled again for the time the nearest
+// target needs to close the gap at the highest speed targets can reach by then, less what a landing can skip at once.
+public class ProjectileManager implements Disposable {
+    public static final float DEFAULT_MAX_RANGE = 4000.f; // World units a bullet may travel
+    public static final float DEFAULT_TIME_TO_LIVE = 30.f; // Seconds
+    private static final float GRID_CELL_SIZE = 512.f;
+    public static final float MAX_CONTACT_DELAY = 0.25f; // Seconds a bullet is left out of the contact checks at most
+
+    private final BulletPool bulletPool;
+    private final EntityContainer<Bullet> bullets = new EntityContainer<>(64);
+    private final Consumer<Bullet> freeBullet; // Resets the bullet for its next shot
+    private final DynamicGrid bulletGrid = new DynamicGrid(GRID_CELL_SIZE); // Active bullets by index into bullets
+    private final Rectangle mapBounds = new Rectangle();
+    private boolean hasMapBounds = false;
+
+    private static final Predicate<Bullet> INACTIVE = bullet -> !bullet.isActive();
+    private final PriorityQueue<Bullet> impactQueue = new PriorityQueue<>(Comparator.comparingDouble(Bullet::getNextEventTime));
+    private boolean impactScheduling = true;
+    private CollisionGrid collisionGrid = CollisionGrid.empty();
+    private float clock = 0; // Simulation time, the impact queue is ordered by it
+
+    public ProjectileManager(SpriteAtlas spriteAtlas) {
+        bulletPool = new BulletPool(spriteAtlas);
+        freeBullet = bulletPool::free;
+    }
+
+    public void setMapBounds(float width, float height) {
+        mapBounds.set(0, 0, width, height);
+        hasMapBounds = true;
+        bulletGrid.setBounds(width, height);
+    }
+
+    // Tiles that stop scheduled bullets
+    public void setCollisionGrid(CollisionGrid collisionGrid) {
+        this.collisionGrid = collisionGrid;
+    }
+
+    // false = every bullet takes part in every contact check and traces its tile hits every tick
+    public void setImpactScheduling(boolean impactScheduling) {
+        if (this.impactScheduling == impactScheduling) return;
+
+        this.impactScheduling = impactScheduling;
+        impactQueue.clear();
+        for (int i = 0; i < bullets.size(); i++) {
+            bullets.get(i).setScheduled(false);
+        }
+        rebuildGrid();
+    }
+
+    public Bullet spawn(float x, float y, boolean facingRight) {
+        return spawn(x, y, facingRight, DEFAULT_MAX_RANGE, DEFAULT_TIME_TO_LIVE);
+    }
+
+    public Bullet spawn(float x, float y, boolean facingRight, float maxRange, float timeToLive) {
+        Bullet bullet = bulletPool.obtain(x, y, facingRight);
+        bullet.setLifetime(maxRange, timeToLive);
+        bullet.setTileImpactTime(findTileImpactTime(bullet));
+        bullet.setNextContactCheck(clock); // Unscheduled until the first contact check
+        bullets.add(bullet);
+        return bullet;
+    }
+
+    // Bullets fly straight, so the whole remaining path is traced once
+    private float findTileImpactTime(Bullet bullet) {
+        float speed = bullet.getSpeed();
+        if (speed == 0) return Float.MAX_VALUE;
+
+        float length = Math.min(bullet.getMaxRange(), hasMapBounds ? mapBounds.width + mapBounds.height : DEFAULT_MAX_RANGE);
+        Vector2 velocity = bullet.getVelocity();
+        float startX = getFrontX(bullet, bullet.getPosition().x);
+        float startY = getFrontY(bullet, bullet.getPosition().y);
+        float fraction = collisionGrid.raycast(startX, startY, startX + velocity.x / speed * length, startY + velocity.y / speed * length);
+        return fraction < 0 ? Float.MAX_VALUE : clock + fraction * length / speed;
+    }
+
+    // Tiles are hit by the front of the bullet, traced through the middle of its bounds
+    private static float getFrontX(Bullet bullet, float x) {
+        float speed = bullet.getSpeed();
+        return x + Bullet.BULLET_WIDTH / 2f * (1 + (speed > 0 ? bullet.getVelocity().x / speed : 0));
+    }
+
+    private static float getFrontY(Bullet bullet, float y) {
+        float speed = bullet.getSpeed();
+        return y + Bullet.BULLET_HEIGHT / 2f * (1 + (speed > 0 ? bullet.getVelocity().y / speed : 0));
+    }
+
+    // Traces the front of the bullet over the distance it moved this tick
+    private boolean hasHitTile(Bullet bullet, float previousX, float previousY) {
+        Vector2 position = bullet.getPosition();
+        return collisionGrid.raycast(getFrontX(bullet, previousX), getFrontY(bullet, previousY),
+            getFrontX(bullet, position.x), getFrontY(bullet, position.y)) >= 0;
+    }
+
+    public void update(float deltaTime) {
+        clock += deltaTime;
+        for (int i = 0; i < bullets.size(); i++) {
+            Bullet bullet = bullets.get(i);
+            if (!bullet.isActive()) continue;
+
+            float previousX = bullet.getPosition().x;
+            float previousY = bullet.getPosition().y;
+            bullet.update(deltaTime);
+            if (bullet.hasExpired() || isOutOfMapBounds(bullet)) {
+                bullet.deactivate();
+            } else if (!impactScheduling && hasHitTile(bullet, previousX, previousY)) {
+                bullet.deactivate(); // Scheduled bullets know their tile impact already
+            }
+        }
+
+        if (impactScheduling) {
+            // Due bullets join the contact checks again, which also handles the ones reaching their tile
+            while (!impactQueue.isEmpty() && impactQueue.peek().getNextEventTime() <= clock) {
+                impactQueue.poll().setScheduled(false);
+            }
+            for (int i = 0; i < bullets.size(); i++) {
+                Bullet bullet = bullets.get(i);
+                if (!bullet.isScheduled() && clock >= bullet.getTileImpactTime()) {
+                    bullet.deactivate();
+                }
+            }
+        }
+        rebuildGrid();
+    }
+
+    // Call once the contact checks of the tick are done: every unscheduled bullet that can not touch a target (the
+    // enemies in targetGrid and the character) for a while goes back into the impact queue until then.
+    // targetSpeed bounds the speed of every target along either axis over the next MAX_CONTACT_DELAY seconds,
+    // targetSnap is the farthest a landing on a platform can move a target up at once.
+    public void scheduleContactChecks(DynamicGrid targetGrid, Rectangle characterBounds, float targetSpeed, float targetSnap) {
+        if (!impactScheduling) return;
+
+        for (int i = 0; i < bullets.size(); i++) {
+            Bullet bullet = bullets.get(i);
+            if (!bullet.isActive() || bullet.isScheduled()) continue;
+
+            // The gaps are the larger of the gaps along x and y, which close no faster than the per axis speeds
+            float closingSpeed = bullet.getSpeed() + targetSpeed;
+            float maxGap = closingSpeed * MAX_CONTACT_DELAY + targetSnap;
+            Rectangle bounds = bullet.getBoundingRectangle();
+            // A landing can close part of the gap at once, the rest closes at the closing speed at most
+            float gap = Math.min(targetGrid.findNearestGap(bounds, maxGap), getGap(bounds, characterBounds)) - targetSnap;
+            if (gap > 0) {
+                bullet.setNextContactCheck(clock + gap / closingSpeed);
+                bullet.setScheduled(true);
+                impactQueue.add(bullet);
+            }
+        }
+    }
+
+    private static float getGap(Rectangle a, Rectangle b) {
+        float gapX = Math.max(b.x - (a.x + a.width), a.x - (b.x + b.width));
+        float gapY = Math.max(b.y - (a.y + a.height), a.y - (b.y + b.height));
+        return Math.max(0, Math.max(gapX, gapY));
+    }
+
+    private boolean isOutOfMapBounds(Bullet bullet) {
+        if (!hasMapBounds) return false;
+
+        float x = bullet.getPosition().x;
+        float y = bullet.getPosition().y;
+        return x + Bullet.BULLET_WIDTH * SCALE < mapBounds.x
+            || y + Bullet.BULLET_HEIGHT * SCALE < mapBounds.y
+            || x > mapBounds.x + mapBounds.width
+            || y > mapBounds.y + mapBounds.height;
+    }
+
+    // Called once at the end of a tick, after all collision checks had the chance to deactivate bullets
+    public void freeInactiveBullets() {
+        // Out of the queue before the pool resets them, that would change their key
+        impactQueue.removeIf(INACTIVE);
+        bullets.compact(INACTIVE, freeBullet);
+        rebuildGrid(); // Indices and scheduled bullets have changed
+    }
+
+    private void rebuildGrid() {
+        bulletGrid.clear();
+        for (int i = 0; i < bullets.size(); i++) {
+            Bullet bullet = bullets.get(i);
+            if (bullet.isActive() && !bullet.isScheduled()) {
+                bulletGrid.add(i, bullet.getBoundingRectangle());
+            }
+        }
+        bulletGrid.build();
+    }
+
+    public void savePreviousPositions() {
+        for (int i = 0; i < bullets.size(); i++) {
+            bullets.get(i).savePreviousPosition();
+        }
+    }
+
+    // Bullets outside of the visible area are skipped
+    public void render(InstancedQuadRenderer instancedRenderer, float alpha, Rectangle visibleArea) {
+        for (int i = 0; i < bullets.size(); i++) {
+            Bullet bullet = bullets.get(i);
+            if (visibleArea.overlaps(bullet.getBoundingRectangle())) {
+                bullet.render(instancedRenderer, alpha);
+            }
+        }
+    }
+
+    public void render(RenderQueue renderQueue, float alpha, Rectangle visibleArea) {
+        for (int i = 0; i < bullets.size(); i++) {
+            Bullet bullet = bullets.get(i);
+            if (visibleArea.overlaps(bullet.getBoundingRectangle())) {
+                bullet.render(renderQueue, alpha);
+            }
+        }
+    }
+
+    public EntityContainer<Bullet> getBullets() {
+        return bullets;
+    }
+
+    // Bullets that were active (and not scheduled) after the last update() or freeInactiveBullets(), bullets spawned
+    // since are missing
+    public DynamicGrid getBulletGrid() {
+        return bulletGrid;
+    }
+
+    public void clear() {
+        impactQueue.clear();
+        bullets.clear(freeBullet);
+        clock = 0;
+        rebuildGrid();
+    }
+
+    @Override
+    public void dispose() {
+        clear();
+        bulletPool.dispose();
+    }
+}
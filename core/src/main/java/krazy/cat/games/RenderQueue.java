@@ -0,0 +1,120 @@
+package krazy.cat.games;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import java.util.Arrays;
+
+// Collects the sprites of a frame and draws them sorted by layer, then texture, then depth, so the batch only
+// switches textures where it really has to. Entities submit instead of drawing, which keeps the draw order out of
+// GameLoop. All buffers are kept between frames and only grow, nothing is allocated while submitting or drawing.
+public class RenderQueue {
+    // Layers, drawn from low to high
+    public static final int LAYER_BULLETS = 0;
+    public static final int LAYER_ENEMIES = 1;
+    public static final int LAYER_PLAYER = 2;
+    public static final int LAYER_EFFECTS = 3;
+    public static final int MAX_LAYER = 127;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    // Sort key: layer (7 bits) | texture (12 bits) | depth (24 bits) | submission index (20 bits)
+    private static final int INDEX_BITS = 20;
+    private static final int DEPTH_BITS = 24;
+    private static final int TEXTURE_BITS = 12;
+    private static final int DEPTH_OFFSET = 1 << (DEPTH_BITS - 1); // Depth is signed, the key is not
+    private static final int MAX_SPRITES = 1 << INDEX_BITS;
+
+    private final ObjectIntMap<Texture> textureIds = new ObjectIntMap<>();
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private TextureRegion[] regions = new TextureRegion[INITIAL_CAPACITY];
+    private float[] bounds = new float[INITIAL_CAPACITY * 4]; // x, y, width, height
+    private float[] colors = new float[INITIAL_CAPACITY];
+    private int size = 0;
+
+    public void submit(TextureRegion region, float x, float y, float width, float height, int layer, int depth) {
+        submit(region, x, y, width, height, layer, depth, Color.WHITE_FLOAT_BITS);
+    }
+
+    // Lower depth is drawn first within a layer and texture
+    public void submit(TextureRegion region, float x, float y, float width, float height, int layer, int depth, float packedColor) {
+        if (size == MAX_SPRITES) {
+            throw new IllegalStateException("Render queue is full: " + MAX_SPRITES + " sprites");
+        }
+        if (size == keys.length) {
+            grow();
+        }
+
+        int index = size++;
+        keys[index] = createKey(layer, getTextureId(region.getTexture()), depth, index);
+        regions[index] = region;
+        bounds[index * 4] = x;
+        bounds[index * 4 + 1] = y;
+        bounds[index * 4 + 2] = width;
+        bounds[index * 4 + 3] = height;
+        colors[index] = packedColor;
+    }
+
+    private static long createKey(int layer, int textureId, int depth, int index) {
+        long clampedLayer = Math.max(0, Math.min(MAX_LAYER, layer));
+        long clampedDepth = Math.max(0, Math.min((1 << DEPTH_BITS) - 1, depth + DEPTH_OFFSET));
+        return (clampedLayer << (INDEX_BITS + DEPTH_BITS + TEXTURE_BITS))
+            | ((long) textureId << (INDEX_BITS + DEPTH_BITS))
+            | (clampedDepth << INDEX_BITS)
+            | index;
+    }
+
+    // Textures get ids in order of first use, which keeps the sort stable from frame to frame
+    private int getTextureId(Texture texture) {
+        int id = textureIds.get(texture, -1);
+        if (id == -1) {
+            id = Math.min(textureIds.size, (1 << TEXTURE_BITS) - 1);
+            textureIds.put(texture, id);
+        }
+        return id;
+    }
+
+    private void grow() {
+        int capacity = Math.min(MAX_SPRITES, keys.length * 2);
+        keys = Arrays.copyOf(keys, capacity);
+        regions = Arrays.copyOf(regions, capacity);
+        bounds = Arrays.copyOf(bounds, capacity * 4);
+        colors = Arrays.copyOf(colors, capacity);
+    }
+
+    // Draws everything submitted since the last call and empties the queue; the batch has to be drawing
+    public void render(Batch batch) {
+        Arrays.sort(keys, 0, size);
+
+        float batchColor = batch.getPackedColor();
+        float currentColor = batchColor;
+        for (int i = 0; i < size; i++) {
+            int index = (int) (keys[i] & (MAX_SPRITES - 1));
+            if (colors[index] != currentColor) {
+                currentColor = colors[index];
+                batch.setPackedColor(currentColor);
+            }
+            batch.draw(regions[index], bounds[index * 4], bounds[index * 4 + 1], bounds[index * 4 + 2], bounds[index * 4 + 3]);
+            regions[index] = null;
+        }
+        if (currentColor != batchColor) {
+            batch.setPackedColor(batchColor);
+        }
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Drops the texture ids, e.g. after the textures were disposed
+    public void clear() {
+        Arrays.fill(regions, 0, size, null);
+        size = 0;
+        textureIds.clear();
+    }
+}
@@ -0,0 +1,103 @@
+package krazy.cat.games;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Packs every sprite sheet and effect frame drawn in the entity pass into one texture at startup, so the SpriteBatch
+// does not have to flush when switching between the player, enemies, bullets and the blood effect.
+// Regions are looked up by their asset path.
+public class SpriteAtlas implements Disposable {
+    public static final String AGENT_UPPER_BODY = "Character/FemaleAgent/Body/Red.png";
+    public static final String AGENT_LOWER_BODY = "Character/FemaleAgent/Feet/Red.png";
+    public static final String ZOMBIE = "Zombies/GandalfHardcore Zombie v1 sheet.png";
+    public static final String BAT = "Bat_ver20230918/Bat_v1/Sprite Sheet/Bat_v1_Sheet.png";
+    public static final String BULLET = "Pixel Bullet 16x16.png";
+    public static final String[] BLOOD_EFFECT = {
+        "BloodEffect/B001.png",
+        "BloodEffect/B002.png",
+        "BloodEffect/B003.png",
+        "BloodEffect/B004.png",
+        "BloodEffect/B005.png",
+        "BloodEffect/B006.png",
+        "BloodEffect/B007.png",
+        "BloodEffect/B008.png",
+        "BloodEffect/B009.png",
+    };
+
+    // The two 768x2048 agent sheets side by side plus everything else below them.
+    // 4096 is the smallest maximum texture size still found on the Android devices we target.
+    private static final int PAGE_WIDTH = 2048;
+    private static final int PAGE_HEIGHT = 4096;
+    private static final int PADDING = 2;
+
+    private final TextureAtlas atlas;
+    private final Map<String, Texture> fallbackTextures = new HashMap<>();
+
+    public SpriteAtlas() {
+        PixmapPacker packer = new PixmapPacker(PAGE_WIDTH, PAGE_HEIGHT, Pixmap.Format.RGBA8888, PADDING, false);
+
+        // Biggest images first so the guillotine packer does not fragment the page
+        pack(packer, AGENT_UPPER_BODY);
+        pack(packer, AGENT_LOWER_BODY);
+        pack(packer, ZOMBIE);
+        pack(packer, BAT);
+        pack(packer, BULLET);
+        for (String path : BLOOD_EFFECT) {
+            pack(packer, path);
+        }
+
+        atlas = packer.generateTextureAtlas(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest, false);
+        packer.dispose(); // The atlas owns the uploaded textures, the CPU side pixmaps are not needed anymore
+    }
+
+    private static void pack(PixmapPacker packer, String path) {
+        Pixmap pixmap = new Pixmap(Gdx.files.internal(path));
+        packer.pack(path, pixmap);
+        pixmap.dispose();
+    }
+
+    // Images that are not part of the atlas still work, but are loaded as their own texture (and cost a draw call)
+    public TextureRegion findRegion(String path) {
+        TextureRegion region = atlas.findRegion(path);
+        if (region != null) {
+            return region;
+        }
+
+        Texture texture = fallbackTextures.get(path);
+        if (texture == null) {
+            Gdx.app.error("SpriteAtlas", "Not packed, loading as separate texture: " + path);
+            texture = new Texture(Gdx.files.internal(path));
+            fallbackTextures.put(path, texture);
+        }
+        return new TextureRegion(texture);
+    }
+
+    public TextureRegion[] findRegions(String[] paths) {
+        TextureRegion[] regions = new TextureRegion[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            regions[i] = findRegion(paths[i]);
+        }
+        return regions;
+    }
+
+    public int getPageCount() {
+        return atlas.getTextures().size;
+    }
+
+    @Override
+    public void dispose() {
+        atlas.dispose();
+        for (Texture texture : fallbackTextures.values()) {
+            texture.dispose();
+        }
+        fallbackTextures.clear();
+    }
+}